@@ -0,0 +1,42 @@
+package com.oguz.tekrar.jmh;
+
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.Site;
+import com.oguz.tekrar.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// benchmark'larda kullanılan sabit veri. her çalıştırmada aynı nesneler üretilsin diye rastgelelik kullanılmaz
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    // her kullanıcının iki rolü ve bir sitesi vardır, id'ler verilirse entity'ler detached gibi davranır
+    static List<User> users(int count, boolean withIds) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = User.builder()
+                    .id(withIds ? (long) i + 1 : null)
+                    .name("Kullanici" + i)
+                    .surname("Soyad" + i)
+                    .email("kullanici" + i + "@mail.com")
+                    .age(20 + i % 45)
+                    .maas(10_000.0 + i * 7)
+                    .roles(new ArrayList<>())
+                    .build();
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+            for (String roleName : List.of("ROLE_USER", "ROLE_ADMIN")) {
+                Role role = Role.builder().id(withIds ? (long) i * 2 + user.getRoles().size() + 1 : null).roleName(roleName).user(user).build();
+                user.getRoles().add(role);
+            }
+            user.setSite(Site.builder().id(withIds ? (long) i + 1 : null).name("site" + i).port(String.valueOf(8000 + i % 1000)).user(user).build());
+            users.add(user);
+        }
+        return users;
+    }
+}
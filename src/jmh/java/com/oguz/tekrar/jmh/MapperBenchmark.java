@@ -0,0 +1,59 @@
+package com.oguz.tekrar.jmh;
+
+import com.oguz.tekrar.dto.SiteResponse;
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.entity.Site;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.mapper.SiteMapper;
+import com.oguz.tekrar.mapper.SiteMapperImpl;
+import com.oguz.tekrar.mapper.UserMapper;
+import com.oguz.tekrar.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// MapStruct'ın ürettiği mapper'ların liste dönüşüm maliyeti, Spring context'i olmadan ölçülür
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000"})
+    int size;
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final SiteMapper siteMapper = new SiteMapperImpl();
+
+    private List<User> users;
+    private List<Site> sites;
+
+    @Setup
+    public void setUp() {
+        users = BenchmarkData.users(size, true);
+        sites = users.stream().map(User::getSite).toList();
+    }
+
+    @Benchmark
+    public List<UserResponse> userResponseList() {
+        return userMapper.toUserResponseList(users);
+    }
+
+    @Benchmark
+    public List<SiteResponse> siteResponseList() {
+        return siteMapper.toSiteResponseList(sites);
+    }
+}
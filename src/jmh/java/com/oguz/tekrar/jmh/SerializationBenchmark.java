@@ -0,0 +1,62 @@
+package com.oguz.tekrar.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.oguz.tekrar.config.JacksonConfig;
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// controller'ların döndüğü UserResponse listelerinin JSON'a çevrilme maliyeti.
+// ObjectMapper uygulamadaki gibi JacksonConfig'teki tarih formatıyla kurulur
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<UserResponse> responses;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        objectMapper = builder.build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, UserResponse.class));
+        responses = new UserMapperImpl().toUserResponseList(BenchmarkData.users(size, true));
+    }
+
+    // MVC'nin yaptığı gibi tipi her seferinde çözerek
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    // tip bilgisi önceden çözülmüş ObjectWriter ile
+    @Benchmark
+    public byte[] typedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,85 @@
+package com.oguz.tekrar.jmh;
+
+import com.oguz.tekrar.DataJpaTekrarApplication;
+import com.oguz.tekrar.dto.CursorPageResponse;
+import com.oguz.tekrar.dto.SiteResponse;
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.repository.UserRepository;
+import com.oguz.tekrar.service.SiteService;
+import com.oguz.tekrar.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// service okuma yolları H2 (test profili) üzerinde, transaction + sorgu + mapping dahil uçtan uca ölçülür.
+// web katmanı açılmaz, SQL logları ve Hibernate istatistikleri ölçümü bozmasın diye kapatılır
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ServiceReadBenchmark {
+
+    @Param({"1000"})
+    int userCount;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private SiteService siteService;
+    private long middleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaTekrarApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        userRepository.saveAll(BenchmarkData.users(userCount, false));
+        middleId = userRepository.findAll().get(userCount / 2).getId();
+        userService = context.getBean(UserService.class);
+        siteService = context.getBean(SiteService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // get-all-users'ın parametresiz çağrısı: varsayılan limitli ilk sayfa
+    @Benchmark
+    public CursorPageResponse<UserResponse> getAllUsers() {
+        return userService.getUsersAfter(null, null);
+    }
+
+    @Benchmark
+    public CursorPageResponse<UserResponse> getUsersAfter() {
+        return userService.getUsersAfter(middleId, 50);
+    }
+
+    @Benchmark
+    public List<SiteResponse> getAllSites() {
+        return siteService.getAll();
+    }
+}
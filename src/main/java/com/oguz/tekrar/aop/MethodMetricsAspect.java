@@ -0,0 +1,97 @@
+package com.oguz.tekrar.aop;
+
+import com.oguz.tekrar.audit.AuditSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// service ve controller metodlarının süresini ve hata sayısını Micrometer Timer'larına yazar.
+// Timer'lar LongAdder ve zaman pencereli histogram bucket'ları ile lock-free güncellenir, sonuçlar
+// /actuator/metrics/app.method.latency?tag=class:UserService&tag=method:getUserById şeklinde okunur.
+// her çağrıda log yazılmaz: parametreler ve dönüş değeri sadece debug açıkken ya da örneklenen çağrılarda loglanır.
+// app.audit.enabled açıksa her çağrı ayrıca AuditSink'e kısa bir event olarak verilir
+@Slf4j
+@Aspect
+@Component
+public class MethodMetricsAspect {
+
+    public static final String METRIC_NAME = "app.method.latency";
+
+    private final MeterRegistry meterRegistry;
+    private final AuditSink auditSink;
+    private final double logSampleRate;
+
+    // başarılı çağrılarda Timer her seferinde registry'de aranmasın diye metod başına cache'lenir
+    private final ConcurrentMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public MethodMetricsAspect(MeterRegistry meterRegistry,
+                               Optional<AuditSink> auditSink,
+                               @Value("${app.aop.log-sample-rate:0.0}") double logSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.auditSink = auditSink.orElse(null);
+        this.logSampleRate = logSampleRate;
+    }
+
+    // birinci * dönüş tipi, ikinci ve üçüncü * paketteki tüm class'ların tüm metodları demek
+    @Around("execution(* com.oguz.tekrar.service.*.*(..)) || execution(* com.oguz.tekrar.controller.*.*(..))")
+    public Object measure(ProceedingJoinPoint pjp) throws Throwable {
+        long start = System.nanoTime();
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        try {
+            Object result = pjp.proceed();
+            long elapsed = System.nanoTime() - start;
+            successTimers.computeIfAbsent(method, m -> timer(m, "success", "none")).record(elapsed, TimeUnit.NANOSECONDS);
+            if (auditSink != null) {
+                auditSink.record(method, elapsed, false, pjp.getArgs());
+            }
+            if (shouldLog()) {
+                log.info("{}.{} {} ms, parametreler: {}, dönüş: {}", method.getDeclaringClass().getSimpleName(),
+                        method.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), Arrays.toString(pjp.getArgs()), result);
+            }
+            return result;
+        } catch (Throwable ex) {
+            long elapsed = System.nanoTime() - start;
+            // hata seyrek olduğu için Timer registry'den alınır, exception tipi tag olarak eklenir
+            timer(method, "error", ex.getClass().getSimpleName()).record(elapsed, TimeUnit.NANOSECONDS);
+            if (auditSink != null) {
+                auditSink.record(method, elapsed, true, pjp.getArgs());
+            }
+            if (shouldLog()) {
+                log.info("{}.{} {} ms içinde hata fırlattı: {}, parametreler: {}", method.getDeclaringClass().getSimpleName(),
+                        method.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), ex.getMessage(), Arrays.toString(pjp.getArgs()));
+            }
+            throw ex;
+        }
+    }
+
+    private Timer timer(Method method, String outcome, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Service ve controller metodlarının çalışma süresi")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private boolean shouldLog() {
+        return log.isDebugEnabled()
+                || (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate);
+    }
+}
@@ -0,0 +1,9 @@
+package com.oguz.tekrar.audit;
+
+// buffer dolduğunda ne yapılacağı
+public enum AuditOverflowPolicy {
+    // event atılır ve app.audit.dropped sayacı artar, istek thread'i hiç beklemez
+    DROP,
+    // tüketici yer açana kadar istek thread'i kısa aralıklarla bekler, hiçbir event kaybolmaz
+    BLOCK
+}
@@ -0,0 +1,93 @@
+package com.oguz.tekrar.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// çok üreticili, tek tüketicili sınırlı ring buffer (Vyukov'un bounded queue algoritması).
+// slot'lar başta ayrılır ve alanlar primitive dizilerde tutulur, yani offer sırasında nesne oluşturulmaz.
+// her slot'un sequence değeri slot'un yazılmaya mı yoksa okunmaya mı hazır olduğunu gösterir, kilit kullanılmaz
+public class AuditRingBuffer {
+
+    @FunctionalInterface
+    public interface EventHandler {
+        void onEvent(int methodId, long timestamp, long durationNanos, boolean failed, int argFingerprint);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final int[] methodIds;
+    private final long[] timestamps;
+    private final long[] durations;
+    private final boolean[] failures;
+    private final int[] fingerprints;
+
+    private final AtomicLong tail = new AtomicLong();
+    // sadece tüketici thread okuyup yazar
+    private long head;
+
+    public AuditRingBuffer(int requestedCapacity) {
+        // index hesabı mod yerine mask ile yapılsın diye kapasite 2'nin kuvvetine yuvarlanır
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.methodIds = new int[capacity];
+        this.timestamps = new long[capacity];
+        this.durations = new long[capacity];
+        this.failures = new boolean[capacity];
+        this.fingerprints = new int[capacity];
+    }
+
+    // buffer doluysa beklemeden false döner, ne yapılacağına çağıran karar verir
+    public boolean offer(int methodId, long timestamp, long durationNanos, boolean failed, int argFingerprint) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    methodIds[index] = methodId;
+                    timestamps[index] = timestamp;
+                    durations[index] = durationNanos;
+                    failures[index] = failed;
+                    fingerprints[index] = argFingerprint;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // sadece tüketici thread çağırmalı, en fazla max kadar event'i handler'a verir
+    public int drain(EventHandler handler, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.getAcquire(index) != head + 1) {
+                break;
+            }
+            handler.onEvent(methodIds[index], timestamps[index], durations[index], failures[index], fingerprints[index]);
+            sequences.setRelease(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    // yaklaşık değer, metrik için
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,169 @@
+package com.oguz.tekrar.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// service/controller çağrılarının audit kaydı. istek thread'i sadece ring buffer'a birkaç primitive yazar,
+// dosyaya yazma işi arka plandaki tek bir thread tarafından batch'ler halinde yapılır.
+// AUDIT logger'ı logback-spring.xml'de rolling file appender'a bağlıdır
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true")
+public class AuditSink implements SmartLifecycle {
+
+    public static final String AUDIT_LOGGER = "AUDIT";
+
+    private static final Logger AUDIT = LoggerFactory.getLogger(AUDIT_LOGGER);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AuditRingBuffer buffer;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Counter droppedCounter;
+
+    // Method nesneleri her event'te taşınmasın diye metodlara başlangıçta int id verilir
+    private final ConcurrentMap<Method, Integer> methodIds = new ConcurrentHashMap<>();
+    private final List<String> methodNames = new ArrayList<>();
+
+    private final StringBuilder batch = new StringBuilder(8192);
+    private volatile boolean running;
+    private Thread consumer;
+
+    public AuditSink(MeterRegistry meterRegistry,
+                     @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                     @Value("${app.audit.batch-size:256}") int batchSize,
+                     @Value("${app.audit.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy) {
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.droppedCounter = Counter.builder("app.audit.dropped")
+                .description("Buffer dolu olduğu için yazılamayan audit event sayısı")
+                .register(meterRegistry);
+        Gauge.builder("app.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Dosyaya yazılmayı bekleyen audit event sayısı")
+                .register(meterRegistry);
+    }
+
+    public void record(Method method, long durationNanos, boolean failed, Object[] args) {
+        int methodId = methodIds.computeIfAbsent(method, this::register);
+        long timestamp = System.currentTimeMillis();
+        int fingerprint = fingerprint(args);
+        if (buffer.offer(methodId, timestamp, durationNanos, failed, fingerprint)) {
+            return;
+        }
+        if (overflowPolicy == AuditOverflowPolicy.BLOCK) {
+            while (running) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(methodId, timestamp, durationNanos, failed, fingerprint)) {
+                    return;
+                }
+            }
+        }
+        droppedCounter.increment();
+    }
+
+    // parametrelerin toString'i yerine kısa bir hash yazılır. koleksiyonlarda elemanları
+    // gezmemek için sadece boyut kullanılır (50k isimlik listeyi her çağrıda hash'lememek için)
+    static int fingerprint(Object[] args) {
+        int hash = 1;
+        for (Object arg : args) {
+            int value;
+            if (arg instanceof Collection<?> collection) {
+                value = collection.size();
+            } else if (arg instanceof Map<?, ?> map) {
+                value = map.size();
+            } else {
+                value = arg == null ? 0 : arg.hashCode();
+            }
+            hash = 31 * hash + value;
+        }
+        return hash;
+    }
+
+    private synchronized Integer register(Method method) {
+        methodNames.add(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        return methodNames.size() - 1;
+    }
+
+    private synchronized String methodName(int methodId) {
+        return methodNames.get(methodId);
+    }
+
+    // tüketici thread'in döngüsü: buffer boşsa kısa süre park edilir, doluysa batch'ler halinde yazılır
+    private void consume() {
+        while (running) {
+            if (flush() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        // kapanırken kalanlar da yazılır
+        while (flush() > 0) {
+            // boşalana kadar devam
+        }
+    }
+
+    // buffer'daki en fazla batchSize kadar event'i tek bir log satırı grubu olarak yazar
+    int flush() {
+        int drained = buffer.drain(this::append, batchSize);
+        if (drained > 0) {
+            batch.setLength(batch.length() - 1);
+            AUDIT.info(batch.toString());
+            batch.setLength(0);
+        }
+        return drained;
+    }
+
+    private void append(int methodId, long timestamp, long durationNanos, boolean failed, int argFingerprint) {
+        batch.append(Instant.ofEpochMilli(timestamp)).append('|')
+                .append(methodName(methodId)).append('|')
+                .append(TimeUnit.NANOSECONDS.toMicros(durationNanos)).append("us|")
+                .append(failed ? "ERROR" : "OK").append('|')
+                .append(Integer.toHexString(argFingerprint)).append('\n');
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        consumer = Thread.ofPlatform().name("audit-writer").daemon().start(this::consume);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (consumer == null) {
+            return;
+        }
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Audit yazıcısı durduruldu, atılan event sayısı: {}", (long) droppedCounter.count());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,40 @@
+package com.oguz.tekrar.config;
+
+import com.oguz.tekrar.constant.CacheNames;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.cache.CacheManager;
+
+// cache advice'ı transaction advice'ının dışında çalışsın diye order bir öncesine çekildi:
+// cache hit'lerinde transaction/connection hiç açılmaz, @CachePut da commit'ten sonra yazılır
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    // Hibernate second-level cache region'ları Spring CacheManager'da olmadığı için Spring Boot bunları metriklere bağlamaz.
+    // entity/collection region'ları SessionFactory kurulurken oluşur, isimli query region'ı ise ilk kullanımda
+    // oluşacağı için burada önceden açılır
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            sessionFactory.getCache().getQueryResultsCache(CacheNames.PROJECTION_QUERY_REGION);
+            RegionFactory regionFactory = sessionFactory.getServiceRegistry().requireService(RegionFactory.class);
+            if (regionFactory instanceof JCacheRegionFactory jcache) {
+                CacheManager cacheManager = jcache.getCacheManager();
+                for (String name : cacheManager.getCacheNames()) {
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(name));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.oguz.tekrar.config;
+
+import com.oguz.tekrar.datasource.DataSourceRoutingProperties;
+import com.oguz.tekrar.datasource.ReadWriteRoutingDataSource;
+import com.oguz.tekrar.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// app.datasource.routing.enabled=true olduğunda Spring Boot'un tek DataSource'u yerine primary + replikalar kurulur.
+// primary spring.datasource.* ile, replikalar app.datasource.routing.replicas ile tanımlanır,
+// spring.datasource.hikari.* ayarları hepsine uygulanır
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                       DataSourceRoutingProperties routingProperties,
+                                                       Environment environment,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikariSettings(primary, environment, "primary", meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> replicaProperties = routingProperties.replicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = replicaProperties.get(i);
+            String name = replica.name() == null ? "replica-" + i : replica.name();
+            HikariDataSource dataSource = new HikariDataSource();
+            bindHikariSettings(dataSource, environment, name, meterRegistry);
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            dataSource.setUsername(replica.username() == null ? dataSourceProperties.determineUsername() : replica.username());
+            dataSource.setPassword(replica.password() == null ? dataSourceProperties.determinePassword() : replica.password());
+            if (replica.maximumPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            }
+            // replikaya yanlışlıkla yazılmasın diye connection'lar readOnly açılır
+            dataSource.setReadOnly(true);
+            replicas.put(name, dataSource);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, routingProperties.selection());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource routingDataSource,
+                                               DataSourceRoutingProperties routingProperties) {
+        return new ReplicaLagMonitor(routingDataSource, routingProperties);
+    }
+
+    // Spring Boot sadece DataSource bean'lerinden unwrap edebildiği pool'u (primary) metriklere bağlar,
+    // replikaların da hikaricp.* metrikleri (acquire/usage süresi, bekleyen thread) olsun diye hepsine burada verilir
+    private static void bindHikariSettings(HikariDataSource dataSource, Environment environment, String poolName,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.oguz.tekrar.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+// spring.threads.virtual.enabled=true olduğunda Tomcat istekleri zaten virtual thread'lerde karşılanır,
+// buradaki executor'lar da aynı moda geçer. iki modda da aynı anda DB'ye giden iş sayısı sınırlı kalır
+@Configuration
+public class ExecutorConfig {
+
+    public static final String USER_QUERY_EXECUTOR = "userQueryExecutor";
+
+    // büyük IN listeleri parçalara bölünüp bu havuzda paralel sorgulanır.
+    // thread sayısı connection pool'u tüketmesin diye küçük tutulur, kuyruk dolarsa iş çağıran thread'de çalışır (backpressure)
+    @Bean(USER_QUERY_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor userQueryExecutor(
+            @Value("${app.user.query.parallelism:4}") int parallelism,
+            @Value("${app.user.query.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("user-query-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // virtual thread'ler havuzlanmaz, her parça yeni bir virtual thread'de çalışır.
+    // concurrency limit dolunca çağıran bloklanır, böylece connection pool yine parallelism'den fazla zorlanmaz
+    @Bean(USER_QUERY_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor userQueryVirtualExecutor(@Value("${app.user.query.parallelism:4}") int parallelism) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("user-query-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(parallelism);
+        return executor;
+    }
+
+    // context'te bir Executor bean'i olunca Spring Boot kendi applicationTaskExecutor'ını oluşturmuyor.
+    // MVC async (/export) ve @Async varsayılan havuzu kullanmaya devam etsin diye aynı tanımlar burada tekrarlandı
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // builder spring.threads.virtual.enabled açıkken virtual thread üretecek şekilde gelir
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor applicationTaskExecutorVirtualThreads(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.oguz.tekrar.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+// app.reactive.enabled=true olduğunda reaktif okuma endpoint'leri (ReactiveUserController) için R2DBC connection pool'u kurulur.
+// JPA, Flyway ve yazma işlemleri JDBC DataSource üzerinde aynen devam eder. DataSourceAutoConfiguration context'te
+// ConnectionFactory bean'i görürse DataSource oluşturmadığı için pool autowireCandidate = false ile tanımlanır,
+// R2dbcAutoConfiguration da application.yaml'da kapatılmıştır
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveDataConfig {
+
+    private static final String POOL_NAME = "reactive";
+
+    @Value("${app.reactive.r2dbc.url}")
+    private String url;
+
+    @Value("${app.reactive.r2dbc.username:}")
+    private String username;
+
+    @Value("${app.reactive.r2dbc.password:}")
+    private String password;
+
+    @Value("${app.reactive.r2dbc.pool.initial-size:5}")
+    private int initialSize;
+
+    @Value("${app.reactive.r2dbc.pool.max-size:20}")
+    private int maxSize;
+
+    // pool doluysa connection için en fazla bu kadar beklenir, sonra istek hata alır
+    @Value("${app.reactive.r2dbc.pool.max-acquire-time:PT5S}")
+    private Duration maxAcquireTime;
+
+    @Bean(destroyMethod = "dispose", autowireCandidate = false)
+    public ConnectionFactory reactiveConnectionFactory() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name(POOL_NAME)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(reactiveConnectionFactory());
+    }
+
+    // pool autowire edilemediği için Spring Boot r2dbc.pool.* metriklerini kendisi bağlamaz
+    @Bean
+    public MeterBinder reactiveConnectionPoolMetrics() {
+        return registry -> {
+            if (reactiveConnectionFactory() instanceof ConnectionPool pool) {
+                new ConnectionPoolMetrics(pool, POOL_NAME, Tags.empty()).bindTo(registry);
+            }
+        };
+    }
+}
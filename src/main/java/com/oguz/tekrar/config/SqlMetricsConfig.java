@@ -0,0 +1,69 @@
+package com.oguz.tekrar.config;
+
+import com.oguz.tekrar.sql.RepositoryMethodContextInterceptor;
+import com.oguz.tekrar.sql.SlowQueryInterceptor;
+import com.oguz.tekrar.sql.SlowQueryLog;
+import com.oguz.tekrar.sql.SqlRequestStatsFilter;
+import com.oguz.tekrar.sql.SqlStatementRecorder;
+import com.oguz.tekrar.sql.StatementMetricsDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+// SQL sayısı ve süresi için üç parça: repository proxy'lerine metod adını thread'e yazan ve yavaş çağrıları
+// yakalayan advice'lar, dataSource bean'ini saran ve her statement'ı ölçen bir proxy, her HTTP isteğinin toplamını tutan bir filter.
+// Hibernate istatistikleri (hibernate.*) ve Hikari pool metrikleri (hikaricp.*) Spring Boot tarafından bağlanır
+@Configuration
+public class SqlMetricsConfig {
+
+    // repository oluşturulmadan önce (afterPropertiesSet) customizer eklenmeli, o yüzden before-initialization
+    @Bean
+    static BeanPostProcessor repositoryMethodContextPostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> {
+                                Class<?> repositoryInterface = information.getRepositoryInterface();
+                                proxyFactory.addAdvice(new RepositoryMethodContextInterceptor(repositoryInterface));
+                                proxyFactory.addAdvice(new SlowQueryInterceptor(repositoryInterface, slowQueryLog.getObject()));
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // routing açıkken "dataSource" LazyConnectionDataSourceProxy'dir, primary ve replika sorguları birlikte ölçülür
+    @Bean
+    static BeanPostProcessor statementMetricsDataSourcePostProcessor(ObjectProvider<SqlStatementRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new StatementMetricsDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestStatsFilter> sqlRequestStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql.n-plus-one.threshold:20}") int threshold) {
+        FilterRegistrationBean<SqlRequestStatsFilter> registration =
+                new FilterRegistrationBean<>(new SqlRequestStatsFilter(meterRegistry, threshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
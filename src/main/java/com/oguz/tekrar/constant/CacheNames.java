@@ -0,0 +1,15 @@
+package com.oguz.tekrar.constant;
+
+public final class CacheNames {
+
+    private CacheNames() {
+    }
+
+    public static final String USERS = "users";
+
+    // Hibernate second-level cache region'ları, boyut ve TTL ayarları hibernate-jcache.conf içinde
+    public static final String ROLE_REGION = "role";
+    public static final String SITE_REGION = "site";
+    public static final String USER_ROLES_REGION = "user-roles";
+    public static final String PROJECTION_QUERY_REGION = "projection-queries";
+}
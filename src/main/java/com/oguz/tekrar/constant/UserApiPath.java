@@ -7,20 +7,28 @@ public final class UserApiPath {
 
     public static final String VERSION = "/v1";
     public static final String BASE_URL = "/api" + VERSION + "/users";
+    // app.reactive.enabled=true iken aynı okuma path'leri burada R2DBC ile cevaplanır
+    public static final String REACTIVE_BASE_URL = "/api" + VERSION + "/reactive/users";
     public static final String CREATE = "/create-user";
+    public static final String BULK_CREATE = "/bulk";
     public static final String UPDATE = "/update-user/{id}";
     public static final String DELETE = "/delete-user/{id}";
     public static final String GET_ALL = "/get-all-users";
     public static final String GET_BY_ID = "/get-user-by-id/{id}";
+    public static final String EXPORT = "/export";
     public static final String DELETE_ROLE = "/delete-role/{roleId}";
     public static final String TUM_KULLANICILARI_GETIR = "/tum-kullanicilari-getir";
     public static final String GET_USER_NAMES = "/get-user-names";
     public static final String SEARCH_BY_PART = "/search";
     public static final String SEARCH_ADVANCED = "/search/advanced";
+    public static final String SEARCH_SUGGEST = "/search/suggest";
+    public static final String SEARCH_CONTAINS = "/search/contains";
     public static final String GET_MAAS_AZALAN_SIRALAMA = "/maasa-gore-azalan-siralama";
+    public static final String GET_MAAS_TOP = "/maasa-gore-azalan-siralama/top";
     public static final String FIND_USERS_BY_ISIMLER = "/find-users-by-isimler";
     public static final String COUNT_USER_BY_AGE = "/count-user-by-age";
     public static final String MAAS_ARALIGINA_GORE_GETIR = "/find-maas-araligi";
+    public static final String COUNT_MAAS_ARALIGI = "/count-maas-araligi";
     public static final String FIND_USERS_NAME_IS_NULL = "/find-users-name-is-null";
     public static final String GET_MAAS_SUM = "/get-maas-sum";
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.oguz.tekrar.controller;
+
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.service.ReactiveUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.oguz.tekrar.constant.UserApiPath.*;
+
+// Spring MVC Flux/Mono dönüşlerini async işler, sorgu çalışırken request thread'i havuza geri döner.
+// NDJSON istenirse her kullanıcı okundukça yazılır ve bir sonraki satır ancak önceki response'a yazıldıktan sonra
+// istenir; yavaş okuyan istemci veritabanından okumayı da yavaşlatır, liste bellekte birikmez.
+// application/json istenirse sonuç listeye toplanıp tek seferde yazılır. satır başına flush küçük sonuçlarda pahalı
+// olduğu için (ReactiveLoadBenchmarkTest) Accept verilmezse sadece tüm tabloyu dönen get-all-users stream edilir
+@CrossOrigin(origins = "http://localhost:3000")
+@RestController
+@RequestMapping(REACTIVE_BASE_URL)
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveUserController {
+
+    private final ReactiveUserService reactiveUserService;
+
+    @GetMapping(value = GET_ALL, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<UserResponse> getAllUsers() {
+        return reactiveUserService.getAllUsers();
+    }
+
+    @GetMapping(GET_BY_ID)
+    public Mono<UserResponse> getUserById(@PathVariable Long id) {
+        return reactiveUserService.getUserById(id);
+    }
+
+    @GetMapping(SEARCH_BY_PART)
+    public Flux<UserResponse> searchUsers(@RequestParam("name") String prefix) {
+        return reactiveUserService.searchUsers(prefix);
+    }
+
+    @GetMapping(MAAS_ARALIGINA_GORE_GETIR)
+    public Flux<UserResponse> findMaasAraligi(@RequestParam Double max, @RequestParam Double min) {
+        return reactiveUserService.findMaasAraligi(min, max);
+    }
+}
@@ -1,14 +1,21 @@
 package com.oguz.tekrar.controller;
 
+import com.oguz.tekrar.dto.BulkUserResponse;
+import com.oguz.tekrar.dto.CursorPageResponse;
+import com.oguz.tekrar.dto.SalaryRankPageResponse;
 import com.oguz.tekrar.dto.UserNameResponse;
 import com.oguz.tekrar.dto.UserRequest;
 import com.oguz.tekrar.dto.UserResponse;
 import com.oguz.tekrar.dto.UserSearchDto;
+import com.oguz.tekrar.dto.UserSuggestion;
+import com.oguz.tekrar.service.UserExportService;
 import com.oguz.tekrar.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,10 +28,23 @@ import static com.oguz.tekrar.constant.UserApiPath.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
 
+    // tablo tek listede dönmez: after id'sinden sonraki en fazla limit kadar kullanıcı (varsayılan 50, en fazla 1000)
+    // ve sonraki sayfa için nextCursor döner. tüm tablo gerekiyorsa bellekte biriktirmeden yazan export kullanılmalı
     @GetMapping(GET_ALL)
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<CursorPageResponse<UserResponse>> getAllUsers(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getUsersAfter(after, limit));
+    }
+
+    // response async olarak yazılır, request thread'i export bitene kadar bekletilmez
+    @GetMapping(value = EXPORT, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userExportService::exportUsers);
     }
 
     @GetMapping(GET_BY_ID)
@@ -37,6 +57,11 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(userRequest));
     }
 
+    @PostMapping(BULK_CREATE)
+    public ResponseEntity<BulkUserResponse> createUsersBulk(@RequestBody List<UserRequest> userRequests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUsersBulk(userRequests));
+    }
+
     @PutMapping(UPDATE)
     public ResponseEntity<UserResponse> updateUserById(@RequestBody UserRequest userRequest, @PathVariable Long id) {
         return ResponseEntity.ok(userService.updateUser(userRequest, id));
@@ -54,9 +79,12 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    // get-all-users ile aynı sayfalı cevap
     @GetMapping(TUM_KULLANICILARI_GETIR)
-    public ResponseEntity<List<UserResponse>> getAllUsersCustom() {
-        return ResponseEntity.ok(userService.getAllUsersCustom());
+    public ResponseEntity<CursorPageResponse<UserResponse>> getAllUsersCustom(
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getUsersAfter(after, limit));
     }
 
     @GetMapping(GET_USER_NAMES)
@@ -76,11 +104,33 @@ public class UserController {
         return ResponseEntity.ok(userService.searchUsersByNameAndAge(prefix, age));
     }
 
+    @GetMapping(SEARCH_SUGGEST)
+    public ResponseEntity<List<UserSuggestion>> suggestUsers(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(userService.suggestUsers(prefix, limit));
+    }
+
+    @GetMapping(SEARCH_CONTAINS)
+    public ResponseEntity<List<UserResponse>> searchUsersContaining(
+            @RequestParam("name") String part,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(userService.searchUsersContaining(part, limit));
+    }
+
     @GetMapping(GET_MAAS_AZALAN_SIRALAMA)
     public ResponseEntity<List<UserResponse>> getUsersBySalaryDesc() {
         return ResponseEntity.ok(userService.getUsersBySalaryDesc());
     }
 
+    @GetMapping(GET_MAAS_TOP)
+    public ResponseEntity<SalaryRankPageResponse> getTopUsersBySalary(
+            @RequestParam(value = "lastMaas", required = false) Double lastMaas,
+            @RequestParam(value = "lastId", required = false) Long lastId,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getTopUsersBySalary(lastMaas, lastId, limit));
+    }
+
     @PostMapping(FIND_USERS_BY_ISIMLER)
     public ResponseEntity<List<UserResponse>> findUsersByNames(@RequestBody List<String> names) {
         return ResponseEntity.ok(userService.findUsersByNames(names));
@@ -96,6 +146,11 @@ public class UserController {
         return ResponseEntity.ok(userService.findMaasAraligi(min, max));
     }
 
+    @GetMapping(COUNT_MAAS_ARALIGI)
+    public ResponseEntity<Long> countMaasAraligi(@RequestParam Double max, @RequestParam Double min) {
+        return ResponseEntity.ok(userService.countMaasAraligi(min, max));
+    }
+
     @GetMapping(FIND_USERS_NAME_IS_NULL)
     public ResponseEntity<List<UserResponse>> findUsersAdiIsNull() {
         return ResponseEntity.ok(userService.findAdiIsNull());
@@ -0,0 +1,27 @@
+package com.oguz.tekrar.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+// app.datasource.routing.* ayarları. replikalarda kullanıcı adı/şifre verilmezse spring.datasource'takiler kullanılır
+@ConfigurationProperties("app.datasource.routing")
+public record DataSourceRoutingProperties(
+        boolean enabled,
+        ReplicaSelection selection,
+        Duration maxLag,
+        Duration lagCheckInterval,
+        String lagQuery,
+        List<Replica> replicas) {
+
+    public DataSourceRoutingProperties {
+        selection = selection == null ? ReplicaSelection.ROUND_ROBIN : selection;
+        maxLag = maxLag == null ? Duration.ofSeconds(5) : maxLag;
+        lagCheckInterval = lagCheckInterval == null ? Duration.ofSeconds(5) : lagCheckInterval;
+        replicas = replicas == null ? List.of() : List.copyOf(replicas);
+    }
+
+    public record Replica(String name, String url, String username, String password, Integer maximumPoolSize) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.oguz.tekrar.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// readOnly transaction'lar replikalardan birine, diğer her şey (yazmalar, transaction dışı çağrılar) primary'e gider.
+// karar connection alınırken verilir, bu yüzden LazyConnectionDataSourceProxy arkasında kullanılmalı:
+// JpaTransactionManager connection'ı readOnly bayrağı thread'e yazılmadan önce ister, proxy ilk sorguya kadar bekletir.
+// gecikmesi max-lag'i aşan ya da sorgulanamayan replika devre dışı kalır, hiç sağlıklı replika yoksa okumalar primary'e düşer
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaSelection selection) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(e -> new ReplicaTarget(e.getKey(), e.getValue())).toList();
+        this.selection = selection;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        ReplicaTarget replica = selectReplica();
+        return replica == null ? PRIMARY : replica.name;
+    }
+
+    // lagQuery replikanın geride kaldığı süreyi saniye cinsinden dönmeli, boşsa sadece bağlantı kontrol edilir
+    public void refreshReplicaHealth(String lagQuery, Duration maxLag) {
+        for (ReplicaTarget replica : replicas) {
+            boolean healthy;
+            String reason;
+            try {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.dataSource);
+                double lag = 0;
+                if (StringUtils.hasText(lagQuery)) {
+                    Double lagSeconds = jdbcTemplate.queryForObject(lagQuery, Double.class);
+                    lag = lagSeconds == null ? 0 : lagSeconds;
+                } else {
+                    jdbcTemplate.execute("select 1");
+                }
+                healthy = lag * 1000 <= maxLag.toMillis();
+                reason = "gecikme " + lag + " sn";
+            } catch (RuntimeException e) {
+                healthy = false;
+                reason = e.getMessage();
+            }
+            if (replica.healthy != healthy) {
+                log.warn("Replika {} {}: {}", replica.name, healthy ? "tekrar devrede" : "devre dışı", reason);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    boolean isHealthy(String replicaName) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(replicaName) && replica.healthy);
+    }
+
+    private ReplicaTarget selectReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        ReplicaTarget best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ReplicaTarget candidate = replicas.get((start + i) % size);
+            if (!candidate.healthy) {
+                continue;
+            }
+            if (selection == ReplicaSelection.ROUND_ROBIN) {
+                return candidate;
+            }
+            int active = activeConnections(candidate.dataSource);
+            if (active < bestActive) {
+                best = candidate;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    // havuz ilk connection'a kadar başlamadığı için MXBean null olabilir
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (ReplicaTarget replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class ReplicaTarget {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private ReplicaTarget(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.oguz.tekrar.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// replikaların gecikmesini periyodik olarak ölçüp routing'e bildirir
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final DataSourceRoutingProperties properties;
+
+    @Scheduled(initialDelayString = "${app.datasource.routing.lag-check-interval:PT5S}",
+            fixedDelayString = "${app.datasource.routing.lag-check-interval:PT5S}")
+    public void check() {
+        routingDataSource.refreshReplicaHealth(properties.lagQuery(), properties.maxLag());
+    }
+}
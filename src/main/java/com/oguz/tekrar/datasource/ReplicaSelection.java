@@ -0,0 +1,8 @@
+package com.oguz.tekrar.datasource;
+
+public enum ReplicaSelection {
+    // replikalar sırayla kullanılır
+    ROUND_ROBIN,
+    // Hikari havuzunda en az aktif connection'ı olan replika seçilir, eşitlikte sıra döner
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,7 @@
+package com.oguz.tekrar.dto;
+
+import java.util.List;
+
+// nextCursor bir sonraki sayfa için ?after= parametresine verilecek id'dir, son sayfada null döner
+public record CursorPageResponse<T>(List<T> content, Long nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.oguz.tekrar.dto;
+
+import java.util.List;
+
+// sonraki sayfa için nextMaas ve nextId ?lastMaas=&lastId= parametrelerine verilir, son sayfada ikisi de null döner
+public record SalaryRankPageResponse(List<UserResponse> content, Double nextMaas, Long nextId) {
+}
@@ -0,0 +1,11 @@
+package com.oguz.tekrar.dto;
+
+import java.time.LocalDateTime;
+
+// site + sahibi + rol bilgisinin tek satırlık (flat) hali, her rol için bir satır gelir.
+// entity yüklemeden constructor expression ile doğrudan doldurulur
+public record SiteRowDto(Long siteId, String siteName, String port,
+                         Long userId, String userName, String userSurname, String userEmail,
+                         Double userMaas, Integer userAge, LocalDateTime userCreatedAt, LocalDateTime userUpdatedAt,
+                         Long roleId, String roleName) {
+}
@@ -0,0 +1,4 @@
+package com.oguz.tekrar.dto;
+
+public record UserSalaryDto(Long id, Double maas) {
+}
@@ -0,0 +1,4 @@
+package com.oguz.tekrar.dto;
+
+public record UserSuggestion(Long id, String name) {
+}
@@ -1,6 +1,7 @@
 package com.oguz.tekrar.entity;
 
 
+import com.oguz.tekrar.constant.CacheNames;
 import com.oguz.tekrar.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @EqualsAndHashCode(callSuper = true)
 @Data
@@ -15,11 +18,15 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "roles")
+@Table(name = "roles", indexes = @Index(name = "idx_roles_user_id", columnList = "user_id"))
+// roller nadiren değişir, READ_WRITE ile JPA üzerinden yapılan yazmalar cache'i tutarlı tutar
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheNames.ROLE_REGION)
 public class Role extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     @Column(name = "roles_id")
     private Long id;
 
@@ -1,6 +1,7 @@
 package com.oguz.tekrar.entity;
 
 
+import com.oguz.tekrar.constant.CacheNames;
 import com.oguz.tekrar.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -8,9 +9,15 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "sites")
+// sadece id ile yüklemelerde (findById, lazy proxy) işe yarar. User.site mappedBy olduğu için
+// kullanıcı okunurken site user_id ile sorgulanır, o yükleme cache'ten karşılanamaz
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheNames.SITE_REGION)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -19,7 +26,8 @@ import lombok.experimental.SuperBuilder;
 public class Site extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sites_seq")
+    @SequenceGenerator(name = "sites_seq", sequenceName = "sites_seq", allocationSize = 50)
     @Column(name = "site_id")
     private Long id;
 
@@ -1,13 +1,18 @@
 package com.oguz.tekrar.entity;
 
 
+import com.oguz.tekrar.constant.CacheNames;
 import com.oguz.tekrar.entity.base.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @EqualsAndHashCode(callSuper = true)
 @Data
@@ -15,17 +20,33 @@ import java.util.List;
 @NoArgsConstructor
 @SuperBuilder
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_name_search", columnList = "user_name_search"),
+        @Index(name = "idx_users_name_search_age", columnList = "user_name_search, user_age"),
+        @Index(name = "idx_users_maas_id", columnList = "user_maas, user_id"),
+        @Index(name = "idx_users_age", columnList = "user_age"),
+        @Index(name = "idx_users_name", columnList = "user_name")
+})
 public class User extends BaseEntity {
 
+    private static final char COMBINING_DOT_ABOVE = '\u0307';
+
+    // IDENTITY ile Hibernate insert'leri batch'leyemez, id'yi almak için her satırı tek tek göndermek zorunda kalır.
+    // pooled optimizer ile sequence'tan 50'lik bloklar alınır ve insert'ler JDBC batch olarak gider
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "user_id")
     private Long id;
 
     @Column(name = "user_name")
     private String name;
 
+    // prefix aramaları için isim küçük harfe çevrilmiş olarak ayrıca tutulur.
+    // LOWER(user_name) LIKE ... index kullanamıyordu, bu kolon üzerindeki index ile range scan yapılır
+    @Column(name = "user_name_search")
+    private String nameSearch;
+
     @Column(name = "user_surname")
     private String surname;
 
@@ -41,10 +62,41 @@ public class User extends BaseEntity {
     @Column(name = "user_password")
     private String password;
 
+    // entity graph kullanılmayan sorgularda (sayfalı liste, export) roller tek tek değil 100 kullanıcılık IN sorgularıyla yüklenir
+    // collection cache'te sadece rol id'leri tutulur, rollerin kendisi role region'ından gelir
     @Builder.Default
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheNames.USER_ROLES_REGION)
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Role> roles = new ArrayList<>();
 
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Site site;
+
+    @PrePersist
+    @PreUpdate
+    void updateNameSearch() {
+        this.nameSearch = normalizeName(name);
+    }
+
+    // arama parametresi de kolonla aynı kurala göre normalize edilmeli. I, İ ve ı düz "i" olur, ayrık yazılmış İ'nin
+    // noktası (U+0307) atılır, gerisi Locale.ROOT ile küçültülür: "ib" İbrahim'i, "iş" ve "IŞ" Işık'ı bulur.
+    // Locale.ROOT tek başına İ'yi "i" + U+0307 yapar ve prefix eşleşmesini bozar.
+    // V5__fold_user_name_search.sql aynı kuralı SQL ile uygular, biri değişirse diğeri de değişmeli
+    public static String normalizeName(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case 'I', '\u0130', '\u0131' -> folded.append('i');
+                case COMBINING_DOT_ABOVE -> {
+                }
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,18 @@
+package com.oguz.tekrar.event;
+
+// UserService'in yaptığı her yazma işleminden sonra yayınlanır.
+// create'te before, delete'te after null'dır. bellek içi index'ler bu event'i commit'ten sonra dinleyip kendini günceller
+public record UserChangedEvent(Long userId, UserSnapshot before, UserSnapshot after) {
+
+    public static UserChangedEvent created(UserSnapshot after) {
+        return new UserChangedEvent(after.id(), null, after);
+    }
+
+    public static UserChangedEvent updated(UserSnapshot before, UserSnapshot after) {
+        return new UserChangedEvent(after.id(), before, after);
+    }
+
+    public static UserChangedEvent deleted(UserSnapshot before) {
+        return new UserChangedEvent(before.id(), before, null);
+    }
+}
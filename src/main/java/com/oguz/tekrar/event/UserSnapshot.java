@@ -0,0 +1,11 @@
+package com.oguz.tekrar.event;
+
+import com.oguz.tekrar.entity.User;
+
+// değişiklik anındaki kullanıcı alanlarının kopyası, entity'nin kendisi transaction dışına taşınmasın diye
+public record UserSnapshot(Long id, String name, String surname, Double maas, Integer age) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getName(), user.getSurname(), user.getMaas(), user.getAge());
+    }
+}
@@ -0,0 +1,105 @@
+package com.oguz.tekrar.index;
+
+import java.util.Arrays;
+
+// bir trigram'ın geçtiği doküman numaraları, artan sırada.
+// numaralar bir öncekiyle farkları (delta) olarak varint kodlanır: ardışık eklenen dokümanlarda çoğu fark tek byte'a sığar.
+// dokümanlar index'e hep artan numarayla eklendiği için yeni numara her zaman sona yazılır
+final class TrigramPostingList {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private byte[] data = new byte[INITIAL_CAPACITY];
+    private int length;
+    private int lastDoc = -1;
+    private int count;
+
+    // aynı dokümanda trigram birden fazla geçerse tekrar yazılmaz
+    void add(int doc) {
+        if (doc == lastDoc) {
+            return;
+        }
+        if (doc < lastDoc) {
+            throw new IllegalArgumentException("Doküman numaraları artan sırada eklenmeli: " + doc + " < " + lastDoc);
+        }
+        int delta = lastDoc < 0 ? doc : doc - lastDoc;
+        ensureCapacity(5);
+        while ((delta & ~0x7F) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+        lastDoc = doc;
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    int[] decode() {
+        int[] docs = new int[count];
+        Cursor cursor = cursor();
+        for (int i = 0; i < count; i++) {
+            docs[i] = cursor.next();
+        }
+        return docs;
+    }
+
+    // sorted docs ile kesişim, sonuç yine artan sıradadır. iki liste birlikte tek geçişte ilerler
+    int[] intersect(int[] docs, int size) {
+        int[] result = new int[Math.min(size, count)];
+        int found = 0;
+        Cursor cursor = cursor();
+        int current = cursor.hasNext() ? cursor.next() : Integer.MAX_VALUE;
+        for (int i = 0; i < size && current != Integer.MAX_VALUE; i++) {
+            int doc = docs[i];
+            while (current < doc) {
+                current = cursor.hasNext() ? cursor.next() : Integer.MAX_VALUE;
+            }
+            if (current == doc) {
+                result[found++] = doc;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    private Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private final class Cursor {
+
+        private int position;
+        private int doc = -1;
+        private int read;
+
+        boolean hasNext() {
+            return read < count;
+        }
+
+        int next() {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc = doc < 0 ? delta : doc + delta;
+            read++;
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.oguz.tekrar.index;
+
+import com.oguz.tekrar.dto.UserSuggestion;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// autocomplete için bellek içi prefix index'i.
+// normalize edilmiş isimler sıralı bir skip list'te tutulur, prefix araması O(log n + k) ile veritabanına gitmeden cevaplanır.
+// okumalar kilitsizdir. yazmalar kısa süreli bir ReentrantLock ile sıraya girer, kilit hiçbir zaman veritabanı
+// okunurken tutulmaz; yükleme sırasında gelen event'ler biriktirilip yükleme bitince yeni index'e uygulanır
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNameSuggestIndex {
+
+    // aynı isme sahip kullanıcılar ayrı anahtar olsun diye isimden sonra ayraç + id eklenir
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // aynı anda tek yükleme çalışır; event'ler bu kilidi hiç beklemez
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile ConcurrentSkipListMap<String, UserSuggestion> entries = new ConcurrentSkipListMap<>();
+    private volatile Map<Long, String> keysById = new ConcurrentHashMap<>();
+    // yükleme sürerken null değildir, lock ile korunur
+    private List<UserChangedEvent> pendingEvents;
+
+    private volatile boolean ready;
+
+    // index yeni map'lere kurulup tek seferde değiştirilir, okumalar yarım yüklenmiş index görmez.
+    // stream sürerken commit olan değişiklikler pendingEvents'te birikir ve değiştirmeden hemen önce sırayla
+    // uygulanır; stream'den gelen eski satır sonradan gelen yeniden adlandırma/silmeyi ezemez
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        loadLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            ConcurrentSkipListMap<String, UserSuggestion> newEntries = new ConcurrentSkipListMap<>();
+            Map<Long, String> newKeysById = new ConcurrentHashMap<>();
+            try (Stream<UserSuggestion> suggestions = userRepository.streamUserSuggestions()) {
+                suggestions.forEach(suggestion -> put(newEntries, newKeysById, suggestion));
+            }
+            lock.lock();
+            try {
+                pendingEvents.forEach(event -> apply(newEntries, newKeysById, event));
+                entries = newEntries;
+                keysById = newKeysById;
+                ready = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Kullanıcı isim index'i yüklendi, kayıt sayısı: {}", newKeysById.size());
+        } finally {
+            lock.lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.unlock();
+            }
+            loadLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // yazma işlemleri commit olduktan sonra uygulanır, rollback olan değişiklikler index'e girmez.
+    // mevcut index hemen güncellenir; yükleme sürüyorsa event yeni index için de saklanır
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        lock.lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            apply(entries, keysById, event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<UserSuggestion> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : User.normalizeName(prefix);
+        List<UserSuggestion> result = new ArrayList<>(limit);
+        for (Map.Entry<String, UserSuggestion> entry : entries.tailMap(normalized, true).entrySet()) {
+            if (result.size() == limit || !entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    private static void apply(Map<String, UserSuggestion> entries, Map<Long, String> keysById, UserChangedEvent event) {
+        if (event.after() != null) {
+            put(entries, keysById, new UserSuggestion(event.after().id(), event.after().name()));
+        } else {
+            remove(entries, keysById, event.userId());
+        }
+    }
+
+    // kullanıcının önceki anahtarı silinmezse eski isim index'te sahipsiz kalır
+    private static void put(Map<String, UserSuggestion> entries, Map<Long, String> keysById, UserSuggestion suggestion) {
+        remove(entries, keysById, suggestion.id());
+        if (suggestion.name() == null) {
+            return;
+        }
+        String key = User.normalizeName(suggestion.name()) + KEY_SEPARATOR + suggestion.id();
+        entries.put(key, suggestion);
+        keysById.put(suggestion.id(), key);
+    }
+
+    private static void remove(Map<String, UserSuggestion> entries, Map<Long, String> keysById, Long userId) {
+        String key = keysById.remove(userId);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+}
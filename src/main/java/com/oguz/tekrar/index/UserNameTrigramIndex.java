@@ -0,0 +1,245 @@
+package com.oguz.tekrar.index;
+
+import com.oguz.tekrar.dto.UserFullNameDto;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// isim/soyisim içinde geçen ("ah" -> Ahmet, Bahar) arama için bellek içi trigram index'i.
+// her kullanıcı bir doküman numarası alır, her 3 harflik parça için o parçayı içeren dokümanlar sıkıştırılmış
+// posting list'lerde tutulur. arama kelimesinin trigram'larının listeleri kesiştirilir, kalan adaylar
+// gerçekten içeriyor mu diye metinle doğrulanır; LIKE '%...%' gibi tüm tabloyu taramaz.
+// güncellenen kullanıcı yeni numarayla tekrar eklenir, eskisi silinmiş sayılır. silinmişler canlılardan
+// fazlalaşınca index bellekteki metinlerden yeniden kurulur
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserNameTrigramIndex {
+
+    static final int GRAM = 3;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_DEAD_FOR_COMPACTION = 1024;
+    // isim ile soyisim arasına konur, arama kelimesinde geçemeyeceği için eşleşme ikisinin sınırından taşmaz
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, TrigramPostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docsByUserId = new HashMap<>();
+    // doküman numarasına göre kullanıcı id'si ve normalize edilmiş metin, silinmiş dokümanlarda null
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private int docCount;
+    private int deadCount;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        lock.writeLock().lock();
+        try (Stream<UserFullNameDto> rows = userRepository.streamUserFullNames()) {
+            clear();
+            rows.forEach(row -> add(row.id(), row.name(), row.surname()));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("İsim trigram index'i yüklendi, kayıt sayısı: {}, trigram sayısı: {}, posting boyutu: {} KB",
+                size(), postings.size(), postingBytes() / 1024);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // yazma işlemleri commit olduktan sonra uygulanır, rollback olan değişiklikler index'e girmez.
+    // isim ve soyisim değişmediyse (maaş/yaş güncellemesi) index'e dokunulmaz
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        UserSnapshot before = event.before();
+        UserSnapshot after = event.after();
+        if (before != null && after != null
+                && Objects.equals(before.name(), after.name()) && Objects.equals(before.surname(), after.surname())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(event.userId());
+            if (after != null) {
+                add(after.id(), after.name(), after.surname());
+            }
+            if (deadCount >= MIN_DEAD_FOR_COMPACTION && deadCount > docCount - deadCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // adı ya da soyadı part'ı içeren kullanıcıların id'leri, index'e eklenme sırasıyla en fazla limit kadar.
+    // 3 harften kısa aramalarda trigram olmadığı için metinler sırayla taranır
+    public long[] findIdsContaining(String part, int limit) {
+        String normalized = User.normalizeName(part);
+        if (normalized == null || normalized.isEmpty() || limit < 1) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM) {
+                return scan(normalized, limit);
+            }
+            int[] candidates = candidates(normalized);
+            long[] result = new long[Math.min(limit, candidates.length)];
+            int found = 0;
+            for (int i = 0; i < candidates.length && found < result.length; i++) {
+                String text = texts[candidates[i]];
+                if (text != null && text.contains(normalized)) {
+                    result[found++] = userIds[candidates[i]];
+                }
+            }
+            return found == result.length ? result : Arrays.copyOf(result, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deadCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // en kısa listeden başlanır, her kesişimde aday sayısı sadece azalabilir
+    private int[] candidates(String normalized) {
+        TrigramPostingList[] lists = new TrigramPostingList[normalized.length() - GRAM + 1];
+        int listCount = 0;
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            TrigramPostingList list = postings.get(trigram(normalized, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists[listCount++] = list;
+        }
+        Arrays.sort(lists, 0, listCount, (a, b) -> Integer.compare(a.count(), b.count()));
+        int[] docs = lists[0].decode();
+        int size = docs.length;
+        for (int i = 1; i < listCount && size > 0; i++) {
+            docs = lists[i].intersect(docs, size);
+            size = docs.length;
+        }
+        return docs;
+    }
+
+    private long[] scan(String normalized, int limit) {
+        long[] result = new long[limit];
+        int found = 0;
+        for (int doc = 0; doc < docCount && found < limit; doc++) {
+            if (texts[doc] != null && texts[doc].contains(normalized)) {
+                result[found++] = userIds[doc];
+            }
+        }
+        return found == limit ? result : Arrays.copyOf(result, found);
+    }
+
+    private void add(Long userId, String name, String surname) {
+        String normalizedName = User.normalizeName(name);
+        String normalizedSurname = User.normalizeName(surname);
+        if (normalizedName == null && normalizedSurname == null) {
+            return;
+        }
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        userIds[doc] = userId;
+        texts[doc] = (normalizedName == null ? "" : normalizedName) + FIELD_SEPARATOR
+                + (normalizedSurname == null ? "" : normalizedSurname);
+        docsByUserId.put(userId, doc);
+        indexField(normalizedName, doc);
+        indexField(normalizedSurname, doc);
+    }
+
+    private void indexField(String value, int doc) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            postings.computeIfAbsent(trigram(value, i), key -> new TrigramPostingList()).add(doc);
+        }
+    }
+
+    // posting list'lerden silinmez, doküman sadece ölü işaretlenir ve aramada metin kontrolünde elenir
+    private void remove(Long userId) {
+        Integer doc = docsByUserId.remove(userId);
+        if (doc != null) {
+            texts[doc] = null;
+            deadCount++;
+        }
+    }
+
+    // canlı dokümanlar aynı sırayla yeni numaralarla tekrar eklenir
+    private void compact() {
+        long[] oldUserIds = userIds;
+        String[] oldTexts = texts;
+        int oldDocCount = docCount;
+        clear();
+        for (int doc = 0; doc < oldDocCount; doc++) {
+            String text = oldTexts[doc];
+            if (text != null) {
+                int separator = text.indexOf(FIELD_SEPARATOR);
+                add(oldUserIds[doc], text.substring(0, separator), text.substring(separator + 1));
+            }
+        }
+        log.debug("İsim trigram index'i sıkıştırıldı, kayıt sayısı: {}", docCount);
+    }
+
+    private void clear() {
+        postings.clear();
+        docsByUserId.clear();
+        userIds = new long[INITIAL_CAPACITY];
+        texts = new String[INITIAL_CAPACITY];
+        docCount = 0;
+        deadCount = 0;
+    }
+
+    private long postingBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(TrigramPostingList::sizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > userIds.length) {
+            int newCapacity = Math.max(userIds.length * 2, capacity);
+            userIds = Arrays.copyOf(userIds, newCapacity);
+            texts = Arrays.copyOf(texts, newCapacity);
+        }
+    }
+
+    // üç char 16'şar bit olarak tek bir long'a yerleştirilir, String anahtar oluşturulmaz
+    static long trigram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+}
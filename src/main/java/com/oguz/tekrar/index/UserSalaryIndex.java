@@ -0,0 +1,260 @@
+package com.oguz.tekrar.index;
+
+import com.oguz.tekrar.dto.UserSalaryDto;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// maaş aralığı sorguları için bellek içi index.
+// (maaş, id) çiftine göre sıralı iki paralel primitive dizi tutulur, boxing yoktur ve aralık binary search ile bulunur.
+// okumalar O(log n + sonuç) maliyetindedir. bir transaction'ın event'leri commit'e kadar biriktirilir ve tek seferde
+// uygulanır: k değişiklik tek tek araya ekleme/çıkarma ile O(k·n) sürerdi, birleştirerek O(n + k log k) sürer ve
+// okumalar toplu oluşturmada da write lock'u bir kez bekler
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSalaryIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Comparator<UserSalaryDto> SALARY_ORDER =
+            Comparator.comparingDouble(UserSalaryDto::maas).thenComparingLong(UserSalaryDto::id);
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private double[] salaries = new double[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        lock.writeLock().lock();
+        try (Stream<UserSalaryDto> rows = userRepository.streamSalaries()) {
+            size = 0;
+            // satırlar (maas, id) sırasıyla geldiği için sona eklemek yeterli
+            rows.forEach(row -> insertAt(size, row.maas(), row.id()));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Maaş index'i yüklendi, kayıt sayısı: {}", size);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // min <= maas <= max olan kullanıcıların id'leri, maaşa göre artan sırada
+    public long[] findIdsBetween(double min, double max) {
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(min, Long.MIN_VALUE);
+            int to = lowerBound(Math.nextUp(max), Long.MIN_VALUE);
+            return from >= to ? new long[0] : Arrays.copyOfRange(ids, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countBetween(double min, double max) {
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(min, Long.MIN_VALUE);
+            int to = lowerBound(Math.nextUp(max), Long.MIN_VALUE);
+            return Math.max(0, to - from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // maaşa göre azalan sırada ilk limit kadar (id, maaş). (lastMaas, lastId) verilirse o çiftten sonrakilerle devam edilir,
+    // sıralama hazır olduğu için dizinin sonundan geriye doğru limit kadar okumak yeterli.
+    // maaş da döner ki sonraki sayfanın cursor'ı veritabanından gelen satırlara bağlı kalmasın
+    public List<UserSalaryDto> findTop(Double lastMaas, Long lastId, int limit) {
+        lock.readLock().lock();
+        try {
+            int end = lastMaas == null || lastId == null ? size : lowerBound(lastMaas, lastId);
+            int start = Math.max(0, end - limit);
+            List<UserSalaryDto> result = new ArrayList<>(end - start);
+            for (int i = end - 1; i >= start; i--) {
+                result.add(new UserSalaryDto(ids[i], salaries[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // @TransactionalEventListener her event'i ayrı uygular; burada transaction içindeki event'ler commit'e kadar
+    // PendingChanges'ta biriktirilir, rollback olanlar index'e hiç girmez. transaction yoksa hemen uygulanır
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(event));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    // kullanıcı başına transaction'dan önceki maaş (ilk event'in before'u) silinir, sonraki maaş (son event'in after'ı)
+    // eklenir. ekleme ve çıkarma idempotent: yükleme ile aynı anda gelen bir event aynı kaydı iki kez eklemez
+    private void apply(List<UserChangedEvent> events) {
+        Map<Long, Double[]> changes = new LinkedHashMap<>();
+        for (UserChangedEvent event : events) {
+            Double before = event.before() == null ? null : event.before().maas();
+            Double after = event.after() == null ? null : event.after().maas();
+            changes.computeIfAbsent(event.userId(), id -> new Double[]{before, null})[1] = after;
+        }
+        List<UserSalaryDto> removals = new ArrayList<>();
+        List<UserSalaryDto> insertions = new ArrayList<>();
+        changes.forEach((id, change) -> {
+            if (Objects.equals(change[0], change[1])) {
+                return;
+            }
+            if (change[0] != null) {
+                removals.add(new UserSalaryDto(id, change[0]));
+            }
+            if (change[1] != null) {
+                insertions.add(new UserSalaryDto(id, change[1]));
+            }
+        });
+        if (removals.isEmpty() && insertions.isEmpty()) {
+            return;
+        }
+        removals.sort(SALARY_ORDER);
+        insertions.sort(SALARY_ORDER);
+        lock.writeLock().lock();
+        try {
+            removeAll(removals);
+            insertAll(insertions);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // silinecek pozisyonlar artan sırada bulunur, aradaki parçalar tek geçişte sola kaydırılır
+    private void removeAll(List<UserSalaryDto> removals) {
+        int[] positions = new int[removals.size()];
+        int count = 0;
+        for (UserSalaryDto removal : removals) {
+            int position = lowerBound(removal.maas(), removal.id());
+            if (position < size && salaries[position] == removal.maas() && ids[position] == removal.id()) {
+                positions[count++] = position;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int next = i + 1 < count ? positions[i + 1] : size;
+            System.arraycopy(salaries, positions[i] + 1, salaries, positions[i] - i, next - positions[i] - 1);
+            System.arraycopy(ids, positions[i] + 1, ids, positions[i] - i, next - positions[i] - 1);
+        }
+        size -= count;
+    }
+
+    // eklenecekler sondan başa yerleştirilir, her parça bir kez ve doğrudan son yerine sağa kaydırılır
+    private void insertAll(List<UserSalaryDto> insertions) {
+        int[] positions = new int[insertions.size()];
+        UserSalaryDto[] pending = new UserSalaryDto[insertions.size()];
+        int count = 0;
+        for (UserSalaryDto insertion : insertions) {
+            int position = lowerBound(insertion.maas(), insertion.id());
+            boolean present = position < size && salaries[position] == insertion.maas() && ids[position] == insertion.id();
+            if (!present) {
+                positions[count] = position;
+                pending[count++] = insertion;
+            }
+        }
+        ensureCapacity(size + count);
+        int end = size;
+        for (int j = count - 1; j >= 0; j--) {
+            int position = positions[j];
+            System.arraycopy(salaries, position, salaries, position + j + 1, end - position);
+            System.arraycopy(ids, position, ids, position + j + 1, end - position);
+            salaries[position + j] = pending[j].maas();
+            ids[position + j] = pending[j].id();
+            end = position;
+        }
+        size += count;
+    }
+
+    private void insertAt(int position, double salary, long id) {
+        ensureCapacity(size + 1);
+        System.arraycopy(salaries, position, salaries, position + 1, size - position);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        salaries[position] = salary;
+        ids[position] = id;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > salaries.length) {
+            int newCapacity = Math.max(salaries.length + (salaries.length >> 1), capacity);
+            salaries = Arrays.copyOf(salaries, newCapacity);
+            ids = Arrays.copyOf(ids, newCapacity);
+        }
+    }
+
+    // (salary, id) çiftinden büyük veya eşit olan ilk pozisyon
+    private int lowerBound(double salary, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int compare = Double.compare(salaries[mid], salary);
+            if (compare < 0 || (compare == 0 && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // bir transaction'da yayınlanan event'ler; commit olursa birlikte uygulanır
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final List<UserChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UserSalaryIndex.this);
+            if (status == STATUS_COMMITTED) {
+                apply(events);
+            }
+        }
+    }
+}
@@ -2,13 +2,17 @@ package com.oguz.tekrar.mapper;
 
 import com.oguz.tekrar.dto.SiteRequest;
 import com.oguz.tekrar.dto.SiteResponse;
+import com.oguz.tekrar.dto.SiteRowDto;
+import com.oguz.tekrar.dto.UserResponse;
 import com.oguz.tekrar.entity.Site;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
+import java.util.ArrayList;
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ArrayList.class)
 public interface SiteMapper {
 
 
@@ -19,4 +23,21 @@ public interface SiteMapper {
     List<SiteResponse> toSiteResponseList(List<Site> sites);
 
     void updateEntityFromRequest(SiteRequest dto, @MappingTarget Site site);
+
+    // flat satırdan site ve sahibi oluşturulur, roller SiteService'te satır satır eklendiği için boş liste ile başlar
+    @Mapping(target = "id", source = "siteId")
+    @Mapping(target = "name", source = "siteName")
+    @Mapping(target = "user", source = ".")
+    SiteResponse toSiteResponse(SiteRowDto row);
+
+    @Mapping(target = "id", source = "userId")
+    @Mapping(target = "name", source = "userName")
+    @Mapping(target = "surname", source = "userSurname")
+    @Mapping(target = "email", source = "userEmail")
+    @Mapping(target = "maas", source = "userMaas")
+    @Mapping(target = "age", source = "userAge")
+    @Mapping(target = "createdAt", source = "userCreatedAt")
+    @Mapping(target = "updatedAt", source = "userUpdatedAt")
+    @Mapping(target = "roles", expression = "java(new ArrayList<>())")
+    UserResponse toSiteOwner(SiteRowDto row);
 }
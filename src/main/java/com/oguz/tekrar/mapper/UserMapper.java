@@ -4,6 +4,7 @@ import com.oguz.tekrar.dto.UserRequest;
 import com.oguz.tekrar.dto.UserResponse;
 import com.oguz.tekrar.entity.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -12,11 +13,14 @@ import java.util.List;
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface UserMapper {
 
+    // nameSearch istekten gelmez, @PrePersist/@PreUpdate ile isimden hesaplanır
+    @Mapping(target = "nameSearch", ignore = true)
     User toUser(UserRequest userRequest);
 
     UserResponse toUserResponse(User user);
 
     List<UserResponse> toUserResponseList(List<User> users);
 
+    @Mapping(target = "nameSearch", ignore = true)
     void updateEntityFromRequest(UserRequest request, @MappingTarget User entity);
 }
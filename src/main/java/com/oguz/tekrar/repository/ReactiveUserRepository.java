@@ -0,0 +1,104 @@
+package com.oguz.tekrar.repository;
+
+import com.oguz.tekrar.dto.RoleDto;
+import com.oguz.tekrar.dto.UserResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// UserRepository'deki okuma sorgularının R2DBC karşılıkları. entity ve persistence context yoktur,
+// satırlar doğrudan UserResponse'a çevrilir ve tüketici istedikçe okunur.
+// roller aynı sorguda LEFT JOIN ile gelir: okuma süresince tek connection tutulur, kullanıcı başına sorgu (N+1) atılmaz.
+// rolleri ayrı bir IN sorgusuyla eklemek, kullanıcı sorgusu connection'ı bırakmadan ikinci bir connection ister;
+// pool doluyken her istek birini tutup diğerini beklediği için okumalar max-acquire-time sonunda hata alır
+@Repository
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveUserRepository {
+
+    private static final String SELECT_USERS_WITH_ROLES = "SELECT u.user_id, u.user_name, u.user_surname, u.user_email, "
+            + "u.user_age, u.user_maas, u.created_at, u.updated_at, r.roles_id, r.role_name "
+            + "FROM users u LEFT JOIN roles r ON r.user_id = u.user_id";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient,
+                                  @Value("${app.reactive.r2dbc.fetch-size:256}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<UserResponse> findAll() {
+        return withRoles(databaseClient.sql(SELECT_USERS_WITH_ROLES + " ORDER BY u.user_id, r.roles_id"));
+    }
+
+    public Mono<UserResponse> findById(Long id) {
+        return withRoles(databaseClient.sql(SELECT_USERS_WITH_ROLES + " WHERE u.user_id = :id ORDER BY r.roles_id")
+                .bind("id", id)).next();
+    }
+
+    // prefix küçük harfe çevrilmiş olarak gelmeli (User.normalizeName), idx_users_name_search üzerinden range scan yapılır
+    public Flux<UserResponse> searchByPrefix(String prefix) {
+        return withRoles(databaseClient.sql(SELECT_USERS_WITH_ROLES
+                        + " WHERE u.user_name_search LIKE :prefix ORDER BY u.user_name_search, u.user_id, r.roles_id")
+                .bind("prefix", prefix + "%"));
+    }
+
+    // sıralama idx_users_maas_id'den gelir, sonuç MVC tarafındaki gibi maaşa göre artan sıradadır
+    public Flux<UserResponse> findMaasAraligi(Double min, Double max) {
+        return withRoles(databaseClient.sql(SELECT_USERS_WITH_ROLES
+                        + " WHERE u.user_maas BETWEEN :min AND :max ORDER BY u.user_maas, u.user_id, r.roles_id")
+                .bind("min", min)
+                .bind("max", max));
+    }
+
+    // fetch size ile satırlar veritabanından parça parça istenir (PostgreSQL'de portal, H2 yok sayar).
+    // sorgular user_id'yi sıralamaya kattığı için bir kullanıcının rol satırları ardışık gelir; ardışık satırlar
+    // tek kullanıcıda toplanır, bellekte aynı anda sadece bir kullanıcının satırları tutulur
+    private Flux<UserResponse> withRoles(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveUserRepository::toUserRow)
+                .all()
+                .bufferUntilChanged(row -> row.user().getId())
+                .map(ReactiveUserRepository::toUserResponse);
+    }
+
+    private static UserResponse toUserResponse(List<UserRow> rows) {
+        UserResponse user = rows.getFirst().user();
+        List<RoleDto> roles = new ArrayList<>(rows.size());
+        for (UserRow row : rows) {
+            if (row.role() != null) {
+                roles.add(row.role());
+            }
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
+    private static UserRow toUserRow(Readable row) {
+        UserResponse user = UserResponse.builder()
+                .id(row.get("user_id", Long.class))
+                .name(row.get("user_name", String.class))
+                .surname(row.get("user_surname", String.class))
+                .email(row.get("user_email", String.class))
+                .age(row.get("user_age", Integer.class))
+                .maas(row.get("user_maas", Double.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+        Long roleId = row.get("roles_id", Long.class);
+        return new UserRow(user, roleId == null ? null : new RoleDto(roleId, row.get("role_name", String.class)));
+    }
+
+    // join'in tek satırı: kullanıcı ve (varsa) rollerinden biri
+    private record UserRow(UserResponse user, RoleDto role) {
+    }
+}
@@ -1,9 +1,33 @@
 package com.oguz.tekrar.repository;
 
+import com.oguz.tekrar.constant.CacheNames;
+import com.oguz.tekrar.dto.SiteRowDto;
 import com.oguz.tekrar.entity.Site;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface SiteRepository extends JpaRepository<Site, Long> {
+
+    // site listesi için sadece okuma amaçlı projection: site, sahibi ve rollerinin isimleri tek sorguda gelir.
+    // managed entity oluşmadığı için lazy proxy, N+1 ve dirty-checking snapshot maliyeti de yoktur.
+    // sonuç query cache'te tutulur, sites/users/roles tablolarından birine yazılınca geçersiz olur
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheNames.PROJECTION_QUERY_REGION)
+    })
+    @Query("""
+            SELECT new com.oguz.tekrar.dto.SiteRowDto(s.id, s.name, s.port,
+                   u.id, u.name, u.surname, u.email, u.maas, u.age, u.createdAt, u.updatedAt,
+                   r.id, r.roleName)
+            FROM Site s JOIN s.user u LEFT JOIN u.roles r
+            ORDER BY s.id, r.id
+            """)
+    List<SiteRowDto> findAllSiteRows();
 }
@@ -1,53 +1,161 @@
 package com.oguz.tekrar.repository;
 
+import com.oguz.tekrar.constant.CacheNames;
+import com.oguz.tekrar.dto.AgeCountDto;
+import com.oguz.tekrar.dto.UserFullNameDto;
 import com.oguz.tekrar.dto.UserNameResponse;
+import com.oguz.tekrar.dto.UserSalaryDto;
 import com.oguz.tekrar.dto.UserSearchDto;
+import com.oguz.tekrar.dto.UserSuggestion;
 import com.oguz.tekrar.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // Liste dönen sorgularda roles ve site ayrı ayrı yüklenirse mapper her kullanıcı için
+    // roles'a bir, (mappedBy olduğu için lazy olamayan) site'a bir SELECT daha atar (N+1).
+    // @EntityGraph ile ikisi de aynı sorguda LEFT JOIN FETCH edilir, Hibernate 6 tekrar eden User satırlarını kendisi tekilleştirir.
+    @Override
+    @EntityGraph(attributePaths = {"roles", "site"})
+    List<User> findAll();
+
     // custom findAll metodu
+    @EntityGraph(attributePaths = {"roles", "site"})
     @Query("SELECT u FROM User u")
     List<User> tumKullanicilariGetir();
 
+    // keyset (cursor) pagination: OFFSET yerine son görülen id'den devam edilir,
+    // böylece kaçıncı sayfada olursak olalım sorgu PK index'i üzerinden sabit maliyette çalışır.
+    // collection fetch join LIMIT'i bellekte uygulatacağı için burada sadece site join edilir, roles @BatchSize ile toplu gelir
+    @EntityGraph(attributePaths = "site")
+    @Query("SELECT u FROM User u WHERE u.id > :after ORDER BY u.id ASC")
+    List<User> findUsersAfter(@Param("after") Long after, Limit limit);
+
+    // export için: tablonun tamamını listeye almadan JDBC cursor üzerinden satır satır okur.
+    // fetch size verilmezse PostgreSQL driver'ı tüm sonucu belleğe çeker, read-only ile de dirty-checking snapshot'ı tutulmaz
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(attributePaths = "site")
+    @Query("SELECT u FROM User u ORDER BY u.id ASC")
+    Stream<User> streamAllUsers();
+
+    // autocomplete index'ini başlangıçta doldurmak için id + isim projection'ı
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.oguz.tekrar.dto.UserSuggestion(u.id, u.name) FROM User u WHERE u.name IS NOT NULL")
+    Stream<UserSuggestion> streamUserSuggestions();
+
+    // öneri index'i henüz yüklenmemişken kullanılır, sıralama index'teki gibi normalize isme göre
+    @Query("SELECT new com.oguz.tekrar.dto.UserSuggestion(u.id, u.name) FROM User u WHERE u.nameSearch LIKE CONCAT(:prefix, '%') ORDER BY u.nameSearch, u.id")
+    List<UserSuggestion> findSuggestions(@Param("prefix") String prefix, Limit limit);
+
+    // trigram index'ini başlangıçta doldurmak için id + isim + soyisim projection'ı
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.oguz.tekrar.dto.UserFullNameDto(u.id, u.name, u.surname) FROM User u ORDER BY u.id")
+    Stream<UserFullNameDto> streamUserFullNames();
+
     //kullancıların sadece isimlerini getir
     // constructor expression yöntemi kullanılmıştır.
+    // sonuç query cache'te tutulur, users tablosuna Hibernate üzerinden yazıldığında otomatik geçersiz olur
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheNames.PROJECTION_QUERY_REGION)
+    })
     @Query("SELECT new com.oguz.tekrar.dto.UserNameResponse(u.name) FROM User u")
     List<UserNameResponse> findUserNames();
 
     // burada da örneğin "ah" yaz yazdığımız zaman içinde "ah" ile başlayan kullanıcıları getirir
     // ama prefixin başına % eklersek burada içinde "ah" geçenleri getirir önr: Ahmet, Bahar vs.
-    @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT(:prefix, '%'))")
+    // prefix küçük harfe çevrilmiş olarak gelmeli (User.normalizeName), nameSearch index'i üzerinden range scan yapılır
+    @EntityGraph(attributePaths = {"roles", "site"})
+    @Query("SELECT u FROM User u WHERE u.nameSearch LIKE CONCAT(:prefix, '%')")
     List<User> searchByPrefix(@Param("prefix") String prefix);
 
+    // içinde geçen arama, trigram index'i hazır değilken kullanılır. baştaki % yüzünden index kullanılamaz, tablo taranır.
+    // soyisim için ayrı bir arama kolonu olmadığı için User.normalizeName'in I/İ/ı katlaması burada translate ile yapılır
+    @EntityGraph(attributePaths = {"roles", "site"})
+    @Query("SELECT u FROM User u WHERE u.nameSearch LIKE CONCAT('%', :part, '%') "
+            + "OR LOWER(FUNCTION('translate', u.surname, 'İIı', 'iii')) LIKE CONCAT('%', :part, '%') ORDER BY u.id")
+    List<User> searchByContains(@Param("part") String part, Limit limit);
+
     // Hem ismin başı tutacak HEM DE yaşı tam eşleşecek
     // constructor expression yöntemi kullanılmıştır.
-    @Query("SELECT new com.oguz.tekrar.dto.UserSearchDto(u.id,u.name,u.age) FROM User u WHERE LOWER(u.name) LIKE LOWER(CONCAT(:prefix, '%')) AND u.age = :age")
+    // (user_name_search, user_age) composite index'i kullanılır, prefix yine normalize edilmiş gelmeli
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheNames.PROJECTION_QUERY_REGION)
+    })
+    @Query("SELECT new com.oguz.tekrar.dto.UserSearchDto(u.id,u.name,u.age) FROM User u WHERE u.nameSearch LIKE CONCAT(:prefix, '%') AND u.age = :age")
     List<UserSearchDto> searchByNameAndAge(@Param("prefix") String prefix, @Param("age") Integer age);
 
 
     // artan sıralama için ASC kullanılır
+    @EntityGraph(attributePaths = {"roles", "site"})
     @Query("SELECT u FROM User u ORDER BY u.maas DESC")
     List<User> maasaGoreAzalanSiraylaGetir();
 
+    // top-K sıralama: tablo sıralanmaz, (user_maas, user_id) index'i sondan okunup limit kadar satırda durulur.
+    // sonraki sayfa OFFSET yerine son görülen (maas, id) çiftinden devam eder, maaşı null olanlar sıralamaya girmez
+    @EntityGraph(attributePaths = "site")
+    @Query("SELECT u FROM User u WHERE u.maas IS NOT NULL ORDER BY u.maas DESC, u.id DESC")
+    List<User> findTopBySalary(Limit limit);
+
+    @EntityGraph(attributePaths = "site")
+    @Query("""
+            SELECT u FROM User u
+            WHERE u.maas < :lastMaas OR (u.maas = :lastMaas AND u.id < :lastId)
+            ORDER BY u.maas DESC, u.id DESC
+            """)
+    List<User> findTopBySalaryAfter(@Param("lastMaas") Double lastMaas, @Param("lastId") Long lastId, Limit limit);
+
     //gelen bir listenin içindeki elemalarla arama yapma
+    @EntityGraph(attributePaths = {"roles", "site"})
     @Query("SELECT u FROM User u WHERE u.name IN :isimler")
     List<User> findUsers(List<String> isimler);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheNames.PROJECTION_QUERY_REGION)
+    })
     @Query("SELECT COUNT(u) FROM User u WHERE u.age > :age")
     Long countUsers(Integer age);
 
+    @EntityGraph(attributePaths = {"roles", "site"})
     @Query("SELECT u FROM User u WHERE u.maas BETWEEN :minMaas AND :maxMaas")
     List<User> findMaasAraligi(Double minMaas, Double maxMaas);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheNames.PROJECTION_QUERY_REGION)
+    })
+    @Query("SELECT COUNT(u) FROM User u WHERE u.maas BETWEEN :minMaas AND :maxMaas")
+    Long countMaasAraligi(Double minMaas, Double maxMaas);
+
+    // bellek içi index'lerden gelen id'lere ait kullanıcıları rolleri ve sitesiyle birlikte tek sorguda yükler
+    @EntityGraph(attributePaths = {"roles", "site"})
+    @Query("SELECT u FROM User u WHERE u.id IN :ids")
+    List<User> findAllWithRolesByIdIn(@Param("ids") List<Long> ids);
+
+    // maaş index'ini başlangıçta doldurmak için (maas, id) sıralı projection
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.oguz.tekrar.dto.UserSalaryDto(u.id, u.maas) FROM User u WHERE u.maas IS NOT NULL ORDER BY u.maas, u.id")
+    Stream<UserSalaryDto> streamSalaries();
+
     // adı boş olan kullanıcıları getirme
+    @EntityGraph(attributePaths = {"roles", "site"})
     @Query("SELECT u FROM User u WHERE u.name IS NULL")
     List<User> findUserByNameIsNull();
 
@@ -55,4 +163,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT SUM(u.maas) FROM User u")
     Double getMaasSum();
 
+    // maaşı null olmayan kullanıcı sayısı, SUM'ın kaç satır üzerinden hesaplandığını bilmek için
+    @Query("SELECT COUNT(u.maas) FROM User u")
+    Long countMaas();
+
+    // yaş histogramı, bellek içi aggregate'lerin veritabanıyla mutabakatı için
+    @Query("SELECT new com.oguz.tekrar.dto.AgeCountDto(u.age, COUNT(u)) FROM User u WHERE u.age IS NOT NULL GROUP BY u.age")
+    List<AgeCountDto> countByAgeGroups();
+
 }
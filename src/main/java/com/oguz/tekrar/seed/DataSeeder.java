@@ -0,0 +1,138 @@
+package com.oguz.tekrar.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+// performans testleri için users/roles/sites tablolarını sentetik veriyle doldurur, sadece "seed" profilinde çalışır.
+// satırlar JPA'yı atlayıp doğrudan JDBC ile yazılır: PostgreSQL'de COPY, diğer veritabanlarında batch INSERT.
+// id'ler entity'lerdeki sequence'lardan blok olarak ayrılır ve sonda sequence'lar ileri alınır,
+// böylece seed sonrası uygulamanın eklediği kayıtlar çakışmaz. çalışan bir uygulamaya karşı değil, offline kullanılmalı.
+// mvn spring-boot:run -Dspring-boot.run.profiles=seed -Dspring-boot.run.arguments=--app.seed.users=1000000
+@Slf4j
+@Component
+@Profile("seed")
+public class DataSeeder implements ApplicationRunner {
+
+    // entity'lerdeki @SequenceGenerator allocationSize ile aynı olmalı
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext context;
+    private final long userCount;
+    private final int chunkSize;
+    private final int jdbcBatchSize;
+    private final long randomSeed;
+    private final boolean useCopy;
+    private final boolean exitOnFinish;
+
+    public DataSeeder(JdbcTemplate jdbcTemplate,
+                      PlatformTransactionManager transactionManager,
+                      ConfigurableApplicationContext context,
+                      @Value("${app.seed.users:100000}") long userCount,
+                      @Value("${app.seed.chunk-size:10000}") int chunkSize,
+                      @Value("${app.seed.jdbc-batch-size:1000}") int jdbcBatchSize,
+                      @Value("${app.seed.random-seed:42}") long randomSeed,
+                      @Value("${app.seed.use-copy:true}") boolean useCopy,
+                      @Value("${app.seed.exit-on-finish:false}") boolean exitOnFinish) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.context = context;
+        this.userCount = userCount;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.jdbcBatchSize = Math.max(1, jdbcBatchSize);
+        this.randomSeed = randomSeed;
+        this.useCopy = useCopy;
+        this.exitOnFinish = exitOnFinish;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed();
+        // runner'lar ApplicationReadyEvent'ten önce çalışır, uygulama açık kalırsa index'ler bu veriyle yüklenir
+        if (exitOnFinish) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    public void seed() {
+        if (userCount <= 0) {
+            return;
+        }
+        boolean postgres = isPostgres();
+        SeedWriter writer = postgres && useCopy ? new PostgresCopySeedWriter() : new JdbcBatchSeedWriter(jdbcBatchSize);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(randomSeed);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        long userId = firstFreeId("users_seq", postgres);
+        long roleId = firstFreeId("roles_seq", postgres);
+        long siteId = firstFreeId("sites_seq", postgres);
+        log.info("Seed başlıyor: {} kullanıcı, parça boyutu {}, yöntem {}, seed {}", userCount, chunkSize, writer.name(), randomSeed);
+
+        long start = System.nanoTime();
+        long written = 0;
+        long rows = 0;
+        long roles = 0;
+        long sites = 0;
+        while (written < userCount) {
+            int count = (int) Math.min(chunkSize, userCount - written);
+            SeedBatch batch = generator.generate(count, userId, roleId, siteId);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                writer.write(connection, batch, createdAt);
+                return null;
+            }));
+            userId += batch.users().size();
+            roleId += batch.roles().size();
+            siteId += batch.sites().size();
+            roles += batch.roles().size();
+            sites += batch.sites().size();
+            written += count;
+            rows += batch.rowCount();
+            log.info("Seed: {}/{} kullanıcı, {} satır/sn", written, userCount, rate(rows, start));
+        }
+
+        restartSequence("users_seq", userId);
+        restartSequence("roles_seq", roleId);
+        restartSequence("sites_seq", siteId);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Seed tamamlandı: {} kullanıcı, {} rol, {} site ({} satır) {} sn'de, {} satır/sn",
+                written, roles, sites, rows, String.format(Locale.ROOT, "%.1f", seconds), rate(rows, start));
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                PostgresCopySeedWriter.supports(connection)
+                        || connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres")));
+    }
+
+    // nextval ile bir blok ayrılır ve o bloğun sonrasından başlanır, uygulamanın elindeki bloklarla çakışmaz
+    private long firstFreeId(String sequence, boolean postgres) {
+        String sql = postgres ? "select nextval('" + sequence + "')" : "select next value for " + sequence;
+        Long current = jdbcTemplate.queryForObject(sql, Long.class);
+        return (current == null ? 0 : current) + 1;
+    }
+
+    // pooled optimizer sequence'tan v değerini alınca (v - allocationSize, v] aralığını kullanır,
+    // bu yüzden yeni değer son yazılan id'nin bir blok ötesine ayarlanır
+    private void restartSequence(String sequence, long nextFreeId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (nextFreeId + SEQUENCE_ALLOCATION_SIZE));
+    }
+
+    private static long rate(long rows, long startNanos) {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / elapsed;
+    }
+}
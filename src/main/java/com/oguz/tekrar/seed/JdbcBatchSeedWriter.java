@@ -0,0 +1,84 @@
+package com.oguz.tekrar.seed;
+
+import com.oguz.tekrar.entity.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// her veritabanında çalışan yol: PreparedStatement.addBatch ile batchSize'lık gruplar halinde INSERT.
+// PostgreSQL'de reWriteBatchedInserts açıkken her grup tek bir multi-row INSERT olarak gider
+final class JdbcBatchSeedWriter implements SeedWriter {
+
+    private final int batchSize;
+
+    JdbcBatchSeedWriter(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(Connection connection, SeedBatch batch, LocalDateTime createdAt) throws SQLException {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        insert(connection, "INSERT INTO users (" + USERS_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch.users(),
+                (ps, user) -> {
+                    ps.setLong(1, user.id());
+                    ps.setString(2, user.name());
+                    ps.setString(3, User.normalizeName(user.name()));
+                    ps.setString(4, user.surname());
+                    ps.setString(5, user.email());
+                    ps.setInt(6, user.age());
+                    if (user.maas() == null) {
+                        ps.setNull(7, Types.DOUBLE);
+                    } else {
+                        ps.setDouble(7, user.maas());
+                    }
+                    ps.setTimestamp(8, timestamp);
+                });
+        insert(connection, "INSERT INTO roles (" + ROLES_COLUMNS + ") VALUES (?, ?, ?, ?)", batch.roles(),
+                (ps, role) -> {
+                    ps.setLong(1, role.id());
+                    ps.setLong(2, role.userId());
+                    ps.setString(3, role.roleName());
+                    ps.setTimestamp(4, timestamp);
+                });
+        insert(connection, "INSERT INTO sites (" + SITES_COLUMNS + ") VALUES (?, ?, ?, ?, ?)", batch.sites(),
+                (ps, site) -> {
+                    ps.setLong(1, site.id());
+                    ps.setLong(2, site.userId());
+                    ps.setString(3, site.name());
+                    ps.setString(4, site.port());
+                    ps.setTimestamp(5, timestamp);
+                });
+    }
+
+    @Override
+    public String name() {
+        return "jdbc-batch";
+    }
+
+    private <T> void insert(Connection connection, String sql, List<T> rows, Binder<T> binder) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (T row : rows) {
+                binder.bind(ps, row);
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+}
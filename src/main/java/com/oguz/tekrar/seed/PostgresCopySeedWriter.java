@@ -0,0 +1,91 @@
+package com.oguz.tekrar.seed;
+
+import com.oguz.tekrar.entity.User;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// PostgreSQL'de COPY ... FROM STDIN ile satırlar tek bir akışta gönderilir.
+// satır başına parse/plan ve round trip olmadığı için batch INSERT'ten belirgin şekilde hızlıdır
+final class PostgresCopySeedWriter implements SeedWriter {
+
+    private static final String NULL = "";
+
+    static boolean supports(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    @Override
+    public void write(Connection connection, SeedBatch batch, LocalDateTime createdAt) throws SQLException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        String timestamp = createdAt.toString();
+        copy(copyManager, "users", USERS_COLUMNS, batch.users(), (csv, user) -> {
+            field(csv, String.valueOf(user.id()));
+            field(csv, user.name());
+            field(csv, User.normalizeName(user.name()));
+            field(csv, user.surname());
+            field(csv, user.email());
+            field(csv, String.valueOf(user.age()));
+            field(csv, user.maas() == null ? null : user.maas().toString());
+            last(csv, timestamp);
+        });
+        copy(copyManager, "roles", ROLES_COLUMNS, batch.roles(), (csv, role) -> {
+            field(csv, String.valueOf(role.id()));
+            field(csv, String.valueOf(role.userId()));
+            field(csv, role.roleName());
+            last(csv, timestamp);
+        });
+        copy(copyManager, "sites", SITES_COLUMNS, batch.sites(), (csv, site) -> {
+            field(csv, String.valueOf(site.id()));
+            field(csv, String.valueOf(site.userId()));
+            field(csv, site.name());
+            field(csv, site.port());
+            last(csv, timestamp);
+        });
+    }
+
+    @Override
+    public String name() {
+        return "postgres-copy";
+    }
+
+    private <T> void copy(CopyManager copyManager, String table, String columns, List<T> rows,
+                          BiConsumer<StringBuilder, T> writer) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        StringBuilder csv = new StringBuilder(rows.size() * 96);
+        rows.forEach(row -> writer.accept(csv, row));
+        String sql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv, NULL '" + NULL + "')";
+        try {
+            copyManager.copyIn(sql, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("COPY " + table + " başarısız", e);
+        }
+    }
+
+    private static void field(StringBuilder csv, String value) {
+        append(csv, value);
+        csv.append(',');
+    }
+
+    private static void last(StringBuilder csv, String value) {
+        append(csv, value);
+        csv.append('\n');
+    }
+
+    // null boş alan olarak yazılır, boş string ise "" ile ayrılır
+    private static void append(StringBuilder csv, String value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
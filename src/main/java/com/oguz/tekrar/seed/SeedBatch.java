@@ -0,0 +1,21 @@
+package com.oguz.tekrar.seed;
+
+import java.util.List;
+
+// tek transaction'da yazılan parça. id'ler yazmadan önce sequence bloklarından atanmış olur,
+// tablolar FK sırasına göre users -> roles -> sites yazılır
+record SeedBatch(List<UserRow> users, List<RoleRow> roles, List<SiteRow> sites) {
+
+    record UserRow(long id, String name, String surname, String email, int age, Double maas) {
+    }
+
+    record RoleRow(long id, long userId, String roleName) {
+    }
+
+    record SiteRow(long id, long userId, String name, String port) {
+    }
+
+    int rowCount() {
+        return users.size() + roles.size() + sites.size();
+    }
+}
@@ -0,0 +1,17 @@
+package com.oguz.tekrar.seed;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// bir parçayı verilen connection üzerinden yazar, transaction yönetimi çağırana aittir
+interface SeedWriter {
+
+    String USERS_COLUMNS = "user_id, user_name, user_name_search, user_surname, user_email, user_age, user_maas, created_at";
+    String ROLES_COLUMNS = "roles_id, user_id, role_name, created_at";
+    String SITES_COLUMNS = "site_id, user_id, site_name, port, created_at";
+
+    void write(Connection connection, SeedBatch batch, LocalDateTime createdAt) throws SQLException;
+
+    String name();
+}
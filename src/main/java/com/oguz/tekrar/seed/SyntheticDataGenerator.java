@@ -0,0 +1,110 @@
+package com.oguz.tekrar.seed;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// aynı seed ve aynı parça boyutlarıyla her çalıştırmada birebir aynı veriyi üretir.
+// dağılımlar gerçek veriye benzesin diye: isim/soyisim listelerin başındakilere yığılır, yaş normal,
+// maaş log-normal dağılır ve yaşla artar. küçük bir oranda isim ve maaş boş bırakılır (IS NULL sorguları için)
+final class SyntheticDataGenerator {
+
+    static final String DEFAULT_ROLE = "ROLE_USER";
+
+    // yaklaşık sıklık sırasına göre, baştakiler daha sık seçilir
+    private static final String[] NAMES = {
+            "Mehmet", "Mustafa", "Ahmet", "Ali", "Ayşe", "Fatma", "Emine", "Hüseyin", "Hasan", "Zeynep",
+            "İbrahim", "Elif", "Hatice", "Murat", "Ömer", "Merve", "Yusuf", "Esra", "Emre", "Büşra",
+            "Burak", "Özlem", "Can", "Deniz", "Selin", "Kemal", "Gül", "Serkan", "Derya", "Oğuz",
+            "Cem", "Ebru", "Tolga", "İrem", "Barış", "Ceren", "Kaan", "Sibel", "Volkan", "Ece"
+    };
+    private static final String[] SURNAMES = {
+            "Yılmaz", "Kaya", "Demir", "Çelik", "Şahin", "Yıldız", "Yıldırım", "Öztürk", "Aydın", "Özdemir",
+            "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özkan", "Şimşek",
+            "Polat", "Korkmaz", "Karaca", "Erdoğan", "Güneş", "Aktaş", "Bulut", "Keskin", "Ünal", "Tekin"
+    };
+    private static final String[] COMMON_PORTS = {"80", "443", "8080", "8443", "3000"};
+
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 70;
+    private static final double MEAN_AGE = 36;
+    private static final double AGE_STD_DEV = 11;
+    private static final double MEDIAN_MAAS = 22_000;
+    private static final double MAAS_SIGMA = 0.45;
+    private static final double NULL_NAME_RATE = 0.002;
+    private static final double NULL_MAAS_RATE = 0.01;
+    private static final double ADMIN_RATE = 0.03;
+    private static final double MODERATOR_RATE = 0.10;
+    private static final double SITE_RATE = 0.60;
+
+    private final SplittableRandom random;
+
+    SyntheticDataGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // count kadar kullanıcı ve bunlara ait rol/site satırları, id'ler verilen değerlerden ardışık devam eder
+    SeedBatch generate(int count, long firstUserId, long firstRoleId, long firstSiteId) {
+        List<SeedBatch.UserRow> users = new ArrayList<>(count);
+        List<SeedBatch.RoleRow> roles = new ArrayList<>(count + count / 5);
+        List<SeedBatch.SiteRow> sites = new ArrayList<>((int) (count * SITE_RATE) + 1);
+        long roleId = firstRoleId;
+        long siteId = firstSiteId;
+        for (int i = 0; i < count; i++) {
+            long userId = firstUserId + i;
+            String name = random.nextDouble() < NULL_NAME_RATE ? null : pick(NAMES);
+            String surname = pick(SURNAMES);
+            int age = age();
+            Double maas = random.nextDouble() < NULL_MAAS_RATE ? null : maas(age);
+            users.add(new SeedBatch.UserRow(userId, name, surname, email(name, surname, userId), age, maas));
+
+            roles.add(new SeedBatch.RoleRow(roleId++, userId, DEFAULT_ROLE));
+            if (random.nextDouble() < ADMIN_RATE) {
+                roles.add(new SeedBatch.RoleRow(roleId++, userId, "ROLE_ADMIN"));
+            }
+            if (random.nextDouble() < MODERATOR_RATE) {
+                roles.add(new SeedBatch.RoleRow(roleId++, userId, "ROLE_MODERATOR"));
+            }
+            if (random.nextDouble() < SITE_RATE) {
+                sites.add(new SeedBatch.SiteRow(siteId++, userId, ascii(surname) + "-" + userId + ".com", port()));
+            }
+        }
+        return new SeedBatch(users, roles, sites);
+    }
+
+    // u^2 ile seçim listenin başına yığılır, ilk eleman sonuncudan çok daha sık gelir
+    private String pick(String[] values) {
+        double u = random.nextDouble();
+        return values[(int) (values.length * u * u)];
+    }
+
+    private int age() {
+        long age = Math.round(MEAN_AGE + AGE_STD_DEV * random.nextGaussian());
+        return (int) Math.clamp(age, MIN_AGE, MAX_AGE);
+    }
+
+    // kıdemle birlikte yılda ~%1.5 artış, 100'e yuvarlanır
+    private double maas(int age) {
+        double value = MEDIAN_MAAS * Math.exp(MAAS_SIGMA * random.nextGaussian()) * (1 + 0.015 * (age - MIN_AGE));
+        return Math.round(value / 100) * 100.0;
+    }
+
+    private String port() {
+        return random.nextDouble() < 0.8
+                ? COMMON_PORTS[random.nextInt(COMMON_PORTS.length)]
+                : String.valueOf(random.nextInt(1024, 65536));
+    }
+
+    // id eklendiği için email unique kalır
+    private static String email(String name, String surname, long userId) {
+        String local = name == null ? "user" : ascii(name) + "." + ascii(surname);
+        return local + userId + "@example.com";
+    }
+
+    private static String ascii(String value) {
+        String lower = value.replace('ı', 'i').replace('İ', 'i').toLowerCase(Locale.ROOT);
+        return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
@@ -0,0 +1,39 @@
+package com.oguz.tekrar.service;
+
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.repository.ReactiveUserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// UserService'teki okuma metodlarının reaktif karşılıkları. metodlar sadece Flux/Mono kurar,
+// sorgu dönen publisher'a abone olunduğunda çalışır ve hiçbir thread sonucu beklerken bloklanmaz
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveUserService {
+
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    public Flux<UserResponse> getAllUsers() {
+        return reactiveUserRepository.findAll();
+    }
+
+    public Mono<UserResponse> getUserById(Long id) {
+        return reactiveUserRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("User not found with id: " + id)));
+    }
+
+    public Flux<UserResponse> searchUsers(String prefix) {
+        String normalized = User.normalizeName(prefix);
+        return normalized == null ? Flux.empty() : reactiveUserRepository.searchByPrefix(normalized);
+    }
+
+    public Flux<UserResponse> findMaasAraligi(Double min, Double max) {
+        return reactiveUserRepository.findMaasAraligi(min, max);
+    }
+}
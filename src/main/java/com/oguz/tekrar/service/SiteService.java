@@ -1,7 +1,9 @@
 package com.oguz.tekrar.service;
 
+import com.oguz.tekrar.dto.RoleDto;
 import com.oguz.tekrar.dto.SiteRequest;
 import com.oguz.tekrar.dto.SiteResponse;
+import com.oguz.tekrar.dto.SiteRowDto;
 import com.oguz.tekrar.entity.Site;
 import com.oguz.tekrar.entity.User;
 import com.oguz.tekrar.mapper.SiteMapper;
@@ -12,7 +14,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +28,17 @@ public class SiteService {
     private final SiteMapper mapper;
 
 
+    // satırlar site id'sine göre sıralı geldiği için aynı sitenin rolleri tek SiteResponse altında toplanır
     @Transactional(readOnly = true)
     public List<SiteResponse> getAll() {
-        List<Site> sites = siteRepository.findAll();
-        return mapper.toSiteResponseList(sites);
+        Map<Long, SiteResponse> sites = new LinkedHashMap<>();
+        for (SiteRowDto row : siteRepository.findAllSiteRows()) {
+            SiteResponse site = sites.computeIfAbsent(row.siteId(), id -> mapper.toSiteResponse(row));
+            if (row.roleId() != null) {
+                site.getUser().getRoles().add(new RoleDto(row.roleId(), row.roleName()));
+            }
+        }
+        return new ArrayList<>(sites.values());
     }
 
 
@@ -0,0 +1,101 @@
+package com.oguz.tekrar.service;
+
+import com.oguz.tekrar.dto.AgeCountDto;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.TreeMap;
+
+// maaş toplamı ve yaş histogramını bellekte tutar, dashboard'ların her poll'da tüm tabloyu taramasını engeller.
+// değerler commit sonrası UserChangedEvent'lerle güncellenir, periyodik mutabakat ile veritabanından düzeltilir
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAggregateService {
+
+    private final UserRepository userRepository;
+
+    // aşağıdaki alanlar this üzerinden senkronize edilir
+    private double maasSum;
+    private long maasCount;
+    private final TreeMap<Integer, Long> ageHistogram = new TreeMap<>();
+
+    // ilk mutabakat bitene kadar okuma yapanlar veritabanına yönlendirilir
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // SQL SUM ile aynı şekilde hiç maaş yoksa null döner
+    public synchronized Double getMaasSum() {
+        return maasCount == 0 ? null : maasSum;
+    }
+
+    // WHERE u.age > :age karşılığı, histogramın kuyruğu toplanır: O(farklı yaş sayısı)
+    public synchronized long countOlderThan(int age) {
+        long count = 0;
+        for (long bucket : ageHistogram.tailMap(age, false).values()) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    @TransactionalEventListener
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        if (event.before() != null) {
+            apply(event.before(), -1);
+        }
+        if (event.after() != null) {
+            apply(event.after(), 1);
+        }
+    }
+
+    // event'ler commit'ten sonra uygulandığı için mutabakat ile aynı anda gelen bir değişiklik iki kez sayılabilir
+    // veya kaçabilir, bu sapma bir sonraki mutabakatta düzelir
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.user.aggregate.reconcile-interval:PT10M}",
+            initialDelayString = "${app.user.aggregate.reconcile-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Double dbMaasSum = userRepository.getMaasSum();
+        long dbMaasCount = userRepository.countMaas();
+        List<AgeCountDto> dbAgeCounts = userRepository.countByAgeGroups();
+
+        synchronized (this) {
+            if (ready && (dbMaasCount != maasCount || Math.abs(valueOf(dbMaasSum) - maasSum) > 0.01)) {
+                log.warn("Maaş aggregate'i veritabanından saptı, düzeltiliyor. bellek: {} / {}, veritabanı: {} / {}",
+                        maasSum, maasCount, dbMaasSum, dbMaasCount);
+            }
+            maasSum = valueOf(dbMaasSum);
+            maasCount = dbMaasCount;
+            ageHistogram.clear();
+            dbAgeCounts.forEach(ageCount -> ageHistogram.put(ageCount.age(), ageCount.count()));
+            ready = true;
+        }
+    }
+
+    private void apply(UserSnapshot user, int sign) {
+        if (user.maas() != null) {
+            maasSum += sign * user.maas();
+            maasCount += sign;
+        }
+        if (user.age() != null) {
+            ageHistogram.merge(user.age(), (long) sign, (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
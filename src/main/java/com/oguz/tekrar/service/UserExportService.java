@@ -0,0 +1,56 @@
+package com.oguz.tekrar.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.mapper.UserMapper;
+import com.oguz.tekrar.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    // her chunk sonunda response flush edilir ve persistence context temizlenir,
+    // böylece heap kullanımı tablo boyutundan bağımsız kalır
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // her satıra bir UserResponse JSON'u yazar (application/x-ndjson)
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<User> users = userRepository.streamAllUsers();
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // response stream'ini servlet container kapatacak, biz kapatmıyoruz
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<User> iterator = users.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, userMapper.toUserResponse(iterator.next()));
+                generator.writeRaw('\n');
+                if (++count % CHUNK_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            generator.flush();
+        }
+    }
+}
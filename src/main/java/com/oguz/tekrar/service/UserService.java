@@ -1,20 +1,48 @@
 package com.oguz.tekrar.service;
 
+import com.oguz.tekrar.config.ExecutorConfig;
+import com.oguz.tekrar.constant.CacheNames;
+import com.oguz.tekrar.dto.BulkUserResponse;
+import com.oguz.tekrar.dto.CursorPageResponse;
+import com.oguz.tekrar.dto.SalaryRankPageResponse;
 import com.oguz.tekrar.dto.UserNameResponse;
 import com.oguz.tekrar.dto.UserRequest;
 import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.dto.UserSalaryDto;
 import com.oguz.tekrar.dto.UserSearchDto;
+import com.oguz.tekrar.dto.UserSuggestion;
 import com.oguz.tekrar.entity.Role;
 import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.index.UserNameSuggestIndex;
+import com.oguz.tekrar.index.UserNameTrigramIndex;
+import com.oguz.tekrar.index.UserSalaryIndex;
 import com.oguz.tekrar.mapper.UserMapper;
 import com.oguz.tekrar.repository.RoleRepository;
 import com.oguz.tekrar.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 @RequiredArgsConstructor
@@ -23,14 +51,45 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserNameSuggestIndex userNameSuggestIndex;
+    private final UserAggregateService userAggregateService;
+    private final UserSalaryIndex userSalaryIndex;
+    private final UserNameTrigramIndex userNameTrigramIndex;
+    @Qualifier(ExecutorConfig.USER_QUERY_EXECUTOR)
+    private final Executor userQueryExecutor;
 
     private static final String DEFAULT_ROLE = "ROLE_USER";
+    private static final int DEFAULT_PAGE_LIMIT = 50;
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 100;
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
 
+    // toplu eklemede kaç kullanıcıda bir flush + clear yapılacağı
+    @Value("${app.user.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    // isim listesiyle aramada tek sorguya giden en fazla parametre sayısı.
+    // 2'nin kuvveti seçildi, in_clause_parameter_padding ile parçalar en fazla birkaç farklı SQL'e dönüşür
+    @Value("${app.user.query.in-chunk-size:512}")
+    private int inChunkSize;
+
+    // bir fazlasını çekip sonraki sayfa olup olmadığını ayrıca COUNT sorgusu atmadan anlıyoruz
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        return userMapper.toUserResponseList(userRepository.findAll());
+    public CursorPageResponse<UserResponse> getUsersAfter(Long after, Integer limit) {
+        int pageSize = limit == null || limit < 1 ? DEFAULT_PAGE_LIMIT : Math.min(limit, MAX_PAGE_LIMIT);
+        List<User> users = userRepository.findUsersAfter(after == null ? 0L : after, Limit.of(pageSize + 1));
+        Long nextCursor = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            nextCursor = users.get(pageSize - 1).getId();
+        }
+        return new CursorPageResponse<>(userMapper.toUserResponseList(users), nextCursor);
     }
 
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#id")
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -40,6 +99,39 @@ public class UserService {
 
     @Transactional
     public UserResponse createUser(UserRequest userRequest) {
+        User user = newUserWithDefaultRole(userRequest);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.created(UserSnapshot.of(savedUser)));
+        return userMapper.toUserResponse(savedUser);
+    }
+
+    // kullanıcılar ve varsayılan rolleri hibernate.jdbc.batch_size kadarlık JDBC batch'leri halinde insert edilir.
+    // her chunk sonunda flush + clear yapılarak persistence context'in binlerce entity ile şişmesi engellenir
+    @Transactional
+    public BulkUserResponse createUsersBulk(List<UserRequest> userRequests) {
+        int chunkSize = Math.max(1, bulkChunkSize);
+        List<User> chunk = new ArrayList<>(Math.min(chunkSize, userRequests.size()));
+        for (UserRequest userRequest : userRequests) {
+            chunk.add(newUserWithDefaultRole(userRequest));
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveChunk(chunk);
+        }
+        return new BulkUserResponse(userRequests.size());
+    }
+
+    private void saveChunk(List<User> chunk) {
+        userRepository.saveAll(chunk);
+        entityManager.flush();
+        chunk.forEach(user -> eventPublisher.publishEvent(UserChangedEvent.created(UserSnapshot.of(user))));
+        entityManager.clear();
+        chunk.clear();
+    }
+
+    private User newUserWithDefaultRole(UserRequest userRequest) {
         User user = userMapper.toUser(userRequest);
         Role role = new Role();
         role.setRoleName(DEFAULT_ROLE);
@@ -47,26 +139,33 @@ public class UserService {
         if (user.getRoles() != null) {
             user.getRoles().add(role);
         }
-        return userMapper.toUserResponse(userRepository.save(user));
+        return user;
     }
 
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#id")
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("Cannot delete. User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Cannot delete. User not found with id: " + id));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(UserSnapshot.of(user)));
     }
 
+    @CachePut(cacheNames = CacheNames.USERS, key = "#id")
     @Transactional
     public UserResponse updateUser(UserRequest userRequest, Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Cannot update. User not found with id: " + id));
+        UserSnapshot before = UserSnapshot.of(user);
         userMapper.updateEntityFromRequest(userRequest, user);
-        return userMapper.toUserResponse(userRepository.save(user));
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(before, UserSnapshot.of(updatedUser)));
+        return userMapper.toUserResponse(updatedUser);
     }
 
     // bu metod'un buraya yazılması doğru değil normal şartlarda roleService sınıfı oluşturulup oraya yazılmalı
+    // rolün hangi kullanıcıya ait olduğu metod içinde belli oluyor, nadir çalışan bir işlem olduğu için tüm cache temizleniyor
+    @CacheEvict(cacheNames = CacheNames.USERS, allEntries = true)
     @Transactional
     public void deleteRole(Long roleId) {
         Role rol = roleRepository.findById(roleId)
@@ -80,12 +179,6 @@ public class UserService {
         }
     }
 
-    @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsersCustom() {
-        List<User> users = userRepository.tumKullanicilariGetir();
-        return userMapper.toUserResponseList(users);
-    }
-
     @Transactional(readOnly = true)
     public List<UserNameResponse> getUserNames() {
         return userRepository.findUserNames();
@@ -93,12 +186,33 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public List<UserResponse> searchUsers(String prefix) {
-        return userMapper.toUserResponseList(userRepository.searchByPrefix(prefix));
+        return userMapper.toUserResponseList(userRepository.searchByPrefix(User.normalizeName(prefix)));
     }
 
     @Transactional(readOnly = true)
     public List<UserSearchDto> searchUsersByNameAndAge(String prefix, Integer age) {
-        return userRepository.searchByNameAndAge(prefix, age);
+        return userRepository.searchByNameAndAge(User.normalizeName(prefix), age);
+    }
+
+    // index hazırsa veritabanına gitmez, bellek içi isim index'inden cevaplanır.
+    // uygulama ayağa kalkarken (index yüklenmeden) nameSearch index'i üzerinden prefix sorgusu atılır
+    public List<UserSuggestion> suggestUsers(String prefix, Integer limit) {
+        int size = limit == null || limit < 1 ? DEFAULT_SUGGEST_LIMIT : Math.min(limit, MAX_SUGGEST_LIMIT);
+        if (userNameSuggestIndex.isReady()) {
+            return userNameSuggestIndex.suggest(prefix, size);
+        }
+        return userRepository.findSuggestions(prefix == null ? "" : User.normalizeName(prefix), Limit.of(size));
+    }
+
+    // adında ya da soyadında part geçen kullanıcılar. index hazırsa adaylar trigram'lardan bulunur ve sadece eşleşen
+    // id'ler yüklenir, değilse LIKE '%part%' ile tablo taranır
+    @Transactional(readOnly = true)
+    public List<UserResponse> searchUsersContaining(String part, Integer limit) {
+        int size = limit == null || limit < 1 ? DEFAULT_PAGE_LIMIT : Math.min(limit, MAX_PAGE_LIMIT);
+        if (userNameTrigramIndex.isReady()) {
+            return userMapper.toUserResponseList(findUsersInOrder(userNameTrigramIndex.findIdsContaining(part, size)));
+        }
+        return userMapper.toUserResponseList(userRepository.searchByContains(User.normalizeName(part), Limit.of(size)));
     }
 
     @Transactional(readOnly = true)
@@ -106,30 +220,126 @@ public class UserService {
         return userMapper.toUserResponseList(userRepository.maasaGoreAzalanSiraylaGetir());
     }
 
+    // sıralama ekranı için tüm tablo yerine ilk limit kadar kullanıcı döner.
+    // index hazırsa id'ler bellekten alınır, değilse (maas, id) index'i üzerinden seek sorgusu atılır
     @Transactional(readOnly = true)
+    public SalaryRankPageResponse getTopUsersBySalary(Double lastMaas, Long lastId, Integer limit) {
+        int pageSize = limit == null || limit < 1 ? DEFAULT_PAGE_LIMIT : Math.min(limit, MAX_PAGE_LIMIT);
+        boolean firstPage = lastMaas == null || lastId == null;
+        if (userSalaryIndex.isReady()) {
+            return getTopUsersBySalaryFromIndex(lastMaas, lastId, pageSize);
+        }
+        List<User> users;
+        if (firstPage) {
+            users = userRepository.findTopBySalary(Limit.of(pageSize + 1));
+        } else {
+            users = userRepository.findTopBySalaryAfter(lastMaas, lastId, Limit.of(pageSize + 1));
+        }
+        Double nextMaas = null;
+        Long nextId = null;
+        if (users.size() > pageSize) {
+            users = users.subList(0, pageSize);
+            User last = users.get(pageSize - 1);
+            nextMaas = last.getMaas();
+            nextId = last.getId();
+        }
+        return new SalaryRankPageResponse(userMapper.toUserResponseList(users), nextMaas, nextId);
+    }
+
+    // sonraki sayfa olup olmadığı ve cursor index'ten belirlenir. index'te olup veritabanında silinmiş bir id
+    // findUsersInOrder'da düşer; sayfa bir eksik gelse de sıralama bitmiş sayılmaz ve cursor o id'den devam eder
+    private SalaryRankPageResponse getTopUsersBySalaryFromIndex(Double lastMaas, Long lastId, int pageSize) {
+        List<UserSalaryDto> top = userSalaryIndex.findTop(lastMaas, lastId, pageSize + 1);
+        boolean hasMore = top.size() > pageSize;
+        List<UserSalaryDto> page = hasMore ? top.subList(0, pageSize) : top;
+        List<User> users = findUsersInOrder(page.stream().mapToLong(UserSalaryDto::id).toArray());
+        UserSalaryDto last = hasMore ? page.getLast() : null;
+        return new SalaryRankPageResponse(userMapper.toUserResponseList(users),
+                last == null ? null : last.maas(), last == null ? null : last.id());
+    }
+
+    // liste tekilleştirilip parçalara bölünür, parçalar userQueryExecutor üzerinde paralel sorgulanıp birleştirilir.
+    // her parça kendi read-only transaction'ında çalışır, roles ve site entity graph ile geldiği için burada transaction açılmaz
     public List<UserResponse> findUsersByNames(List<String> names) {
-        return userMapper.toUserResponseList(userRepository.findUsers(names));
+        List<String> distinctNames = names.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctNames.isEmpty()) {
+            return List.of();
+        }
+        int chunkSize = Math.max(1, inChunkSize);
+        if (distinctNames.size() <= chunkSize) {
+            return userMapper.toUserResponseList(userRepository.findUsers(distinctNames));
+        }
+        List<CompletableFuture<List<User>>> futures = new ArrayList<>();
+        for (int from = 0; from < distinctNames.size(); from += chunkSize) {
+            List<String> chunk = distinctNames.subList(from, Math.min(from + chunkSize, distinctNames.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> userRepository.findUsers(chunk), userQueryExecutor));
+        }
+        List<User> users = new ArrayList<>();
+        try {
+            futures.forEach(future -> users.addAll(future.join()));
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return userMapper.toUserResponseList(users);
     }
 
-    @Transactional(readOnly = true)
+    // aggregate hazırsa transaction/connection açmadan bellekten cevaplanır
     public Long findCountByAge(Integer age) {
+        if (userAggregateService.isReady()) {
+            return userAggregateService.countOlderThan(age);
+        }
         return userRepository.countUsers(age);
     }
 
+    // index hazırsa aralık binary search ile bulunur ve sadece eşleşen id'ler yüklenir, sonuç maaşa göre artan sıradadır
     @Transactional(readOnly = true)
     public List<UserResponse> findMaasAraligi(Double min, Double max) {
+        if (userSalaryIndex.isReady()) {
+            return userMapper.toUserResponseList(findUsersInOrder(userSalaryIndex.findIdsBetween(min, max)));
+        }
         var user = userRepository.findMaasAraligi(min, max); // bu şekilde var kullanımıyla da kullanım mevcut List<User> yazmak yerine bunu yazabiliriz
         return userMapper.toUserResponseList(user);
     }
 
+    public Long countMaasAraligi(Double min, Double max) {
+        if (userSalaryIndex.isReady()) {
+            return userSalaryIndex.countBetween(min, max);
+        }
+        return userRepository.countMaasAraligi(min, max);
+    }
+
+    // id'leri parçalar halinde yükleyip verilen sırayı koruyarak döner
+    private List<User> findUsersInOrder(long[] ids) {
+        List<Long> idList = Arrays.stream(ids).boxed().toList();
+        Map<Long, User> usersById = new HashMap<>(ids.length * 2);
+        for (int from = 0; from < idList.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, idList.size()));
+            userRepository.findAllWithRolesByIdIn(chunk).forEach(user -> usersById.put(user.getId(), user));
+        }
+        List<User> users = new ArrayList<>(usersById.size());
+        for (Long id : idList) {
+            User user = usersById.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
     @Transactional(readOnly = true)
     public List<UserResponse> findAdiIsNull() {
         var user = userRepository.findUserByNameIsNull();
         return userMapper.toUserResponseList(user);
     }
 
-    @Transactional(readOnly = true)
     public Double getMaasSum() {
+        if (userAggregateService.isReady()) {
+            return userAggregateService.getMaasSum();
+        }
         return userRepository.getMaasSum();
     }
 }
\ No newline at end of file
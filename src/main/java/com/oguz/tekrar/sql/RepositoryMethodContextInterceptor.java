@@ -0,0 +1,31 @@
+package com.oguz.tekrar.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Spring Data repository proxy'sine eklenir, metod çalışırken atılan SQL'ler "UserRepository.findAll" gibi etiketlenir.
+// Stream dönen metodlarda sorgu metod içinde çalışır, stream tüketilirken yapılan batch yüklemeler çağıranın hesabına yazılır
+public class RepositoryMethodContextInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    public RepositoryMethodContextInterceptor(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String name = names.computeIfAbsent(invocation.getMethod(), method -> repositoryName + "." + method.getName());
+        String previous = SqlStatementContext.enterRepositoryMethod(name);
+        try {
+            return invocation.proceed();
+        } finally {
+            SqlStatementContext.exitRepositoryMethod(previous);
+        }
+    }
+}
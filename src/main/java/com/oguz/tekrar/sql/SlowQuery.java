@@ -0,0 +1,16 @@
+package com.oguz.tekrar.sql;
+
+import java.time.Instant;
+
+// eşiği aşan tek bir repository çağrısı. parametre değerleri değil sadece tipleri/boyutları tutulur,
+// isim ve maaş gibi değerler loga ya da endpoint'e düşmez.
+// rows: dönen satır sayısı, Stream dönen metodlarda ve hata durumunda null
+public record SlowQuery(
+        String repositoryMethod,
+        long durationMillis,
+        String parameters,
+        Integer rows,
+        String error,
+        Instant timestamp
+) {
+}
@@ -0,0 +1,119 @@
+package com.oguz.tekrar.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Array;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+// repository çağrılarının süresini ölçer, eşiği aşanları SlowQueryLog'a verir.
+// hızlı çağrılarda sadece iki nanoTime okuması ve bir karşılaştırma yapılır; parametre şekli ve satır sayısı
+// yalnızca yavaş çağrılarda hesaplanır. Stream dönen metodlarda süre sorgunun açılmasını kapsar, tüketilmesini değil
+public class SlowQueryInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryInterceptor(Class<?> repositoryInterface, SlowQueryLog slowQueryLog) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= slowQueryLog.thresholdNanos()) {
+                slowQueryLog.record(slowQuery(invocation, elapsed, null, e.getClass().getSimpleName()));
+            }
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (elapsed >= slowQueryLog.thresholdNanos()) {
+            slowQueryLog.record(slowQuery(invocation, elapsed, rows(result), null));
+        }
+        return result;
+    }
+
+    private SlowQuery slowQuery(MethodInvocation invocation, long elapsedNanos, Integer rows, String error) {
+        return new SlowQuery(
+                repositoryName + "." + invocation.getMethod().getName(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                parameterShape(invocation.getArguments()),
+                rows,
+                error,
+                Instant.now());
+    }
+
+    // değerler yazılmaz: "(String[5], List[512], Double, null)" gibi
+    static String parameterShape(Object[] args) {
+        StringJoiner joiner = new StringJoiner(", ", "(", ")");
+        for (Object arg : args) {
+            joiner.add(shape(arg));
+        }
+        return joiner.toString();
+    }
+
+    private static String shape(Object arg) {
+        if (arg == null) {
+            return "null";
+        }
+        if (arg instanceof CharSequence text) {
+            return "String[" + text.length() + "]";
+        }
+        if (arg instanceof Collection<?> collection) {
+            String type = collection instanceof List<?> ? "List" : collection instanceof Set<?> ? "Set" : "Collection";
+            return type + "[" + collection.size() + "]";
+        }
+        if (arg instanceof Map<?, ?> map) {
+            return "Map[" + map.size() + "]";
+        }
+        if (arg.getClass().isArray()) {
+            return arg.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(arg) + "]";
+        }
+        if (arg instanceof Pageable pageable) {
+            return pageable.isPaged() ? "Pageable[page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize() + "]" : "Pageable[unpaged]";
+        }
+        if (arg instanceof Limit limit) {
+            return limit.isLimited() ? "Limit[" + limit.max() + "]" : "Limit[unlimited]";
+        }
+        return arg.getClass().getSimpleName();
+    }
+
+    static Integer rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof BaseStream<?, ?>) {
+            return null;
+        }
+        if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.oguz.tekrar.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// yavaş repository çağrılarını SLOW_QUERY logger'ına yazar ve en yavaş top-size tanesini bellekte tutar.
+// SLOW_QUERY logger'ı logback-spring.xml'de logs/slow-query.log'a bağlıdır.
+// hızlı çağrılar buraya hiç gelmez, kilit sadece eşiği aşan çağrılarda alınır
+@Component
+public class SlowQueryLog {
+
+    public static final String SLOW_QUERY_LOGGER = "SLOW_QUERY";
+
+    private static final Logger SLOW_QUERY = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+    private static final Comparator<SlowQuery> BY_DURATION = Comparator.comparingLong(SlowQuery::durationMillis);
+
+    private final long thresholdNanos;
+    private final int topSize;
+    private final Counter slowQueryCounter;
+
+    // en hızlısı başta, dolunca yeni gelen sadece ondan yavaşsa yer değiştirir
+    private final PriorityQueue<SlowQuery> top;
+
+    public SlowQueryLog(MeterRegistry meterRegistry,
+                        @Value("${app.sql.slow-query.threshold:200ms}") Duration threshold,
+                        @Value("${app.sql.slow-query.top-size:50}") int topSize) {
+        this.thresholdNanos = threshold.toNanos();
+        this.topSize = Math.max(1, topSize);
+        this.top = new PriorityQueue<>(this.topSize, BY_DURATION);
+        this.slowQueryCounter = Counter.builder("app.sql.slow-queries")
+                .description("Eşiği aşan repository çağrısı sayısı")
+                .register(meterRegistry);
+    }
+
+    long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    void record(SlowQuery slowQuery) {
+        slowQueryCounter.increment();
+        SLOW_QUERY.warn("{} {} ms params={} rows={}{}", slowQuery.repositoryMethod(), slowQuery.durationMillis(),
+                slowQuery.parameters(), slowQuery.rows(), slowQuery.error() == null ? "" : " error=" + slowQuery.error());
+        synchronized (top) {
+            if (top.size() < topSize) {
+                top.add(slowQuery);
+            } else if (BY_DURATION.compare(slowQuery, top.peek()) > 0) {
+                top.poll();
+                top.add(slowQuery);
+            }
+        }
+    }
+
+    // en yavaştan hızlıya
+    public List<SlowQuery> top() {
+        synchronized (top) {
+            return top.stream().sorted(BY_DURATION.reversed()).toList();
+        }
+    }
+
+    public void clear() {
+        synchronized (top) {
+            top.clear();
+        }
+    }
+}
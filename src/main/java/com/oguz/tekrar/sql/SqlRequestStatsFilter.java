@@ -0,0 +1,71 @@
+package com.oguz.tekrar.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// her HTTP isteğinde çalışan SQL sayısını app.sql.request.statements'a yazar.
+// sayı eşiği aşarsa (tipik N+1: liste için 1 sorgu + her satır için 1 sorgu) repository metodlarına göre dağılımıyla
+// WARN loglanır ve app.sql.nplusone.alarms artırılır
+@Slf4j
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "app.sql.request.statements";
+    public static final String ALARM_METRIC = "app.sql.nplusone.alarms";
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+
+    public SqlRequestStatsFilter(MeterRegistry meterRegistry, int threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementContext.RequestStats stats = SqlStatementContext.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementContext.endRequest();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementContext.RequestStats stats) {
+        // pattern bazında tag'lenir, /users/1 ve /users/2 ayrı seriler oluşturmaz
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("Bir HTTP isteğinde çalışan SQL sayısı")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(stats.statements());
+
+        if (stats.statements() > threshold) {
+            Counter.builder(ALARM_METRIC)
+                    .description("SQL sayısı eşiği aşan istek sayısı")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Olası N+1: {} {} isteği {} SQL çalıştırdı (eşik {}, toplam {} ms), repository dağılımı: {}",
+                    request.getMethod(), uri, stats.statements(), threshold,
+                    TimeUnit.NANOSECONDS.toMillis(stats.nanos()), stats.byRepositoryMethod());
+        }
+    }
+}
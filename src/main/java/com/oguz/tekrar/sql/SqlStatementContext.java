@@ -0,0 +1,77 @@
+package com.oguz.tekrar.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// SQL'lerin hangi repository metodundan ve hangi HTTP isteğinden geldiğini thread üzerinde taşır.
+// başka thread'e devredilen işler (userQueryExecutor'daki IN parçaları, /export stream'i) isteğin sayımına girmez
+public final class SqlStatementContext {
+
+    static final String NO_REPOSITORY = "none";
+
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+    private static final ThreadLocal<RequestStats> REQUEST = new ThreadLocal<>();
+
+    private SqlStatementContext() {
+    }
+
+    // önceki değer döner, iç içe repository çağrılarında geri yüklemek için
+    static String enterRepositoryMethod(String repositoryMethod) {
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(repositoryMethod);
+        return previous;
+    }
+
+    static void exitRepositoryMethod(String previous) {
+        if (previous == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(previous);
+        }
+    }
+
+    static String currentRepositoryMethod() {
+        String repositoryMethod = REPOSITORY_METHOD.get();
+        return repositoryMethod == null ? NO_REPOSITORY : repositoryMethod;
+    }
+
+    static RequestStats beginRequest() {
+        RequestStats stats = new RequestStats();
+        REQUEST.set(stats);
+        return stats;
+    }
+
+    static void endRequest() {
+        REQUEST.remove();
+    }
+
+    static RequestStats currentRequest() {
+        return REQUEST.get();
+    }
+
+    // tek bir isteğin SQL sayısı ve süresi, sadece isteği işleyen thread yazar
+    static final class RequestStats {
+
+        private int statements;
+        private long nanos;
+        private final Map<String, Integer> byRepositoryMethod = new LinkedHashMap<>();
+
+        void record(String repositoryMethod, long elapsedNanos) {
+            statements++;
+            nanos += elapsedNanos;
+            byRepositoryMethod.merge(repositoryMethod, 1, Integer::sum);
+        }
+
+        int statements() {
+            return statements;
+        }
+
+        long nanos() {
+            return nanos;
+        }
+
+        Map<String, Integer> byRepositoryMethod() {
+            return byRepositoryMethod;
+        }
+    }
+}
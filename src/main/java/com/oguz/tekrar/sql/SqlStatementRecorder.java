@@ -0,0 +1,72 @@
+package com.oguz.tekrar.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// her JDBC execute* çağrısının süresini repository metodu ve SQL tipine göre Timer'a yazar.
+// /actuator/metrics/app.sql.statements?tag=repository:UserRepository.findAll şeklinde okunur
+@Component
+public class SqlStatementRecorder {
+
+    public static final String METRIC_NAME = "app.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    // repository|type başına tek Timer, her SQL'de registry'de aranmaz
+    private final ConcurrentMap<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public SqlStatementRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void record(String sql, long elapsedNanos, boolean success) {
+        String repositoryMethod = SqlStatementContext.currentRepositoryMethod();
+        String type = statementType(sql);
+        Timer timer = success
+                ? successTimers.computeIfAbsent(repositoryMethod + '|' + type, key -> timer(repositoryMethod, type, "success"))
+                : timer(repositoryMethod, type, "error");
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        SqlStatementContext.RequestStats request = SqlStatementContext.currentRequest();
+        if (request != null) {
+            request.record(repositoryMethod, elapsedNanos);
+        }
+    }
+
+    private Timer timer(String repositoryMethod, String type, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Çalıştırılan SQL statement'larının süresi")
+                .tag("repository", repositoryMethod)
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    // tag değerleri sınırlı kalsın diye SQL'in sadece ilk kelimesine bakılır
+    static String statementType(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String keyword = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.oguz.tekrar.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// connection'dan dönen Statement'lar sarmalanır, execute* çağrılarının süresi SqlStatementRecorder'a yazılır.
+// PreparedStatement'ın SQL'i prepareStatement(sql) anında, düz Statement'ınki execute(sql) argümanından alınır
+public class StatementMetricsDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate", "executeLargeBatch");
+
+    private final SqlStatementRecorder recorder;
+
+    public StatementMetricsDataSource(DataSource targetDataSource, SqlStatementRecorder recorder) {
+        super(targetDataSource);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return measured(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return measured(super.getConnection(username, password));
+    }
+
+    private Connection measured(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return measured(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Statement measured(Statement statement, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementType(statement)}, (proxy, method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                Object result = invoke(statement, method, args);
+                success = true;
+                return result;
+            } finally {
+                recorder.record(sql, System.nanoTime() - start, success);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Class<?> statementType(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        if (statement instanceof PreparedStatement) {
+            return PreparedStatement.class;
+        }
+        return Statement.class;
+    }
+}
@@ -0,0 +1,51 @@
+-- ddl-auto: update ile oluşan şemanın aynısı. bu şemayla zaten çalışan veritabanlarında
+-- spring.flyway.baseline-on-migrate sayesinde bu dosya atlanır, sadece sonraki versiyonlar uygulanır.
+-- H2 ve PostgreSQL'de aynı şekilde çalışacak standart SQL ile yazıldı
+
+-- entity'lerdeki @SequenceGenerator(allocationSize = 50) ile aynı artış
+create sequence users_seq start with 1 increment by 50;
+create sequence roles_seq start with 1 increment by 50;
+create sequence sites_seq start with 1 increment by 50;
+
+create table users (
+    user_id          bigint       not null,
+    user_name        varchar(255),
+    user_name_search varchar(255),
+    user_surname     varchar(255),
+    user_email       varchar(255),
+    user_age         integer,
+    user_maas        float(53),
+    user_password    varchar(255),
+    created_at       timestamp(6),
+    created_by       bigint,
+    updated_at       timestamp(6),
+    updated_by       bigint,
+    constraint pk_users primary key (user_id),
+    constraint uk_users_email unique (user_email)
+);
+
+create table roles (
+    roles_id   bigint not null,
+    role_name  varchar(255),
+    user_id    bigint,
+    created_at timestamp(6),
+    created_by bigint,
+    updated_at timestamp(6),
+    updated_by bigint,
+    constraint pk_roles primary key (roles_id),
+    constraint fk_roles_user foreign key (user_id) references users (user_id)
+);
+
+create table sites (
+    site_id    bigint not null,
+    site_name  varchar(255),
+    port       varchar(255),
+    user_id    bigint not null,
+    created_at timestamp(6),
+    created_by bigint,
+    updated_at timestamp(6),
+    updated_by bigint,
+    constraint pk_sites primary key (site_id),
+    constraint uk_sites_user_id unique (user_id),
+    constraint fk_sites_user foreign key (user_id) references users (user_id)
+);
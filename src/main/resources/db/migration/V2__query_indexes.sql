@@ -0,0 +1,24 @@
+-- UserRepository sorgularına göre index'ler. ddl-auto: update ile kurulmuş veritabanlarında
+-- @Table(indexes) ile tanımlananlar zaten olabileceği için hepsi "if not exists" ile oluşturulur.
+-- entity'lerdeki @Index tanımları bu dosyayla aynı tutulmalı
+
+-- searchByPrefix: user_name_search LIKE 'prefix%' range scan. H2'de bu index yeterli, PostgreSQL'de C olmayan
+-- collation'da LIKE için varchar_pattern_ops gerekir, db/vendor/postgresql/V4 ile yeniden kurulur
+create index if not exists idx_users_name_search on users (user_name_search);
+
+-- searchByNameAndAge: prefix range scan + yaş filtresi aynı index'ten (PostgreSQL'de V4 ile yeniden kurulur)
+create index if not exists idx_users_name_search_age on users (user_name_search, user_age);
+
+-- findMaasAraligi / countMaasAraligi (BETWEEN), maasaGoreAzalanSiraylaGetir (ORDER BY maas DESC, index sondan okunur),
+-- findTopBySalary / findTopBySalaryAfter ((maas, id) keyset) ve streamSalaries
+create index if not exists idx_users_maas_id on users (user_maas, user_id);
+
+-- countUsers: user_age > ? range scan
+create index if not exists idx_users_age on users (user_age);
+
+-- findUserByNameIsNull (IS NULL b-tree'de de index'lenir) ve findUsers (user_name IN (...))
+create index if not exists idx_users_name on users (user_name);
+
+-- rol yüklemeleri: User.roles @BatchSize ile user_id IN (...), entity graph'taki LEFT JOIN roles ve
+-- deleteRole sonrası collection yüklemesi. FK kolonları PostgreSQL'de otomatik index'lenmez
+create index if not exists idx_roles_user_id on roles (user_id);
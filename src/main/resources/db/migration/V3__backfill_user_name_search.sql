@@ -0,0 +1,8 @@
+-- user_name_search eklenmeden önce (ddl-auto: update döneminde) yazılmış satırlarda kolon boş kalmıştı,
+-- bu satırlar prefix aramasında hiç bulunmuyordu. baseline'dan gelen veritabanları V1'i atladığı için burada doldurulur.
+-- User.normalizeName Locale.ROOT ile küçültür, ASCII dışı harflerde veritabanının LOWER'ı farklı olabilir;
+-- kayıt bir sonraki güncellemede @PreUpdate ile Java'nın değerine döner
+update users
+set user_name_search = lower(user_name)
+where user_name_search is null
+  and user_name is not null;
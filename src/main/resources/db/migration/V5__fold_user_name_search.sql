@@ -0,0 +1,7 @@
+-- User.normalizeName İ'yi "i" + U+0307 yerine düz "i"ye katlayacak şekilde değişti. eski kuralla uygulamanın yazdığı
+-- ve V3'ün LOWER ile doldurduğu satırlar yeni kurala göre yeniden hesaplanır.
+-- kural Java ile aynı: I, İ, ı -> i, U+0307 (chr(775)) atılır, Türkçe büyük harfler açıkça küçültülür ki sonuç
+-- veritabanının locale'ine bağlı kalmasın; geri kalan harfler LOWER ile küçültülür
+update users
+set user_name_search = lower(translate(user_name, 'İIıŞĞÜÖÇ' || chr(775), 'iiişğüöç'))
+where user_name is not null;
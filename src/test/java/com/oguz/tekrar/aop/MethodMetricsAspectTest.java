@@ -0,0 +1,65 @@
+package com.oguz.tekrar.aop;
+
+import com.oguz.tekrar.mapper.SiteMapper;
+import com.oguz.tekrar.repository.SiteRepository;
+import com.oguz.tekrar.repository.UserRepository;
+import com.oguz.tekrar.service.SiteService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MethodMetricsAspectTest {
+
+    SimpleMeterRegistry meterRegistry;
+    SiteRepository siteRepository;
+    SiteService siteService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        siteRepository = mock(SiteRepository.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new SiteService(siteRepository, mock(UserRepository.class), mock(SiteMapper.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MethodMetricsAspect(meterRegistry, Optional.empty(), 0.0));
+        siteService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("METRIC - Başarılı çağrılar class ve method tag'leriyle süre olarak kaydedilmeli")
+    void shouldRecordSuccessLatency() {
+        when(siteRepository.findAllSiteRows()).thenReturn(List.of());
+
+        siteService.getAll();
+        siteService.getAll();
+
+        Timer timer = meterRegistry.get(MethodMetricsAspect.METRIC_NAME)
+                .tags("class", "SiteService", "method", "getAll", "outcome", "success")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    @DisplayName("METRIC - Hata fırlatan çağrılar exception tipiyle ayrı sayılmalı ve hata yutulmamalı")
+    void shouldRecordErrorWithExceptionTag() {
+        when(siteRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> siteService.getSiteById(1L));
+
+        Timer timer = meterRegistry.get(MethodMetricsAspect.METRIC_NAME)
+                .tags("method", "getSiteById", "outcome", "error", "exception", "EntityNotFoundException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,87 @@
+package com.oguz.tekrar.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("CAPACITY - Kapasite 2'nin kuvvetine yuvarlanmalı")
+    void shouldRoundCapacityToPowerOfTwo() {
+        assertEquals(8, new AuditRingBuffer(8).capacity());
+        assertEquals(16, new AuditRingBuffer(9).capacity());
+    }
+
+    @Test
+    @DisplayName("ORDER - Event'ler yazıldığı sırayla ve tüm alanlarıyla okunmalı")
+    void shouldDrainInFifoOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        assertTrue(buffer.offer(1, 100L, 5L, false, 11));
+        assertTrue(buffer.offer(2, 200L, 6L, true, 22));
+
+        List<String> events = new ArrayList<>();
+        int drained = buffer.drain((methodId, timestamp, duration, failed, fingerprint) ->
+                events.add(methodId + ":" + timestamp + ":" + duration + ":" + failed + ":" + fingerprint), 10);
+
+        assertEquals(2, drained);
+        assertEquals(List.of("1:100:5:false:11", "2:200:6:true:22"), events);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("FULL - Buffer doluysa offer false dönmeli, okununca tekrar yer açılmalı")
+    void shouldRejectWhenFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i, 0L, 0L, false, 0));
+        }
+        assertFalse(buffer.offer(4, 0L, 0L, false, 0));
+
+        assertEquals(1, buffer.drain((methodId, timestamp, duration, failed, fingerprint) -> assertEquals(0, methodId), 1));
+        assertTrue(buffer.offer(4, 0L, 0L, false, 0));
+    }
+
+    @Test
+    @DisplayName("CONCURRENCY - Birden fazla üreticinin yazdığı event'ler kaybolmadan okunmalı")
+    void shouldNotLoseEventsWithConcurrentProducers() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(producer, i, 0L, false, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        long[] lastSeen = {-1, -1, -1, -1};
+        long[] total = {0};
+        while (total[0] < (long) producers * perProducer) {
+            buffer.drain((methodId, timestamp, duration, failed, fingerprint) -> {
+                // her üreticinin event'leri kendi içinde sıralı gelmeli
+                assertEquals(lastSeen[methodId] + 1, timestamp);
+                lastSeen[methodId] = timestamp;
+                total[0]++;
+            }, 256);
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(0, buffer.drain((methodId, timestamp, duration, failed, fingerprint) -> fail(), 10));
+    }
+}
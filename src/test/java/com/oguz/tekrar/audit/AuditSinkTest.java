@@ -0,0 +1,97 @@
+package com.oguz.tekrar.audit;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.oguz.tekrar.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSinkTest {
+
+    SimpleMeterRegistry meterRegistry;
+    ListAppender<ILoggingEvent> appender;
+    Logger auditLogger;
+    Method method;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        auditLogger = (Logger) LoggerFactory.getLogger(AuditSink.AUDIT_LOGGER);
+        appender = new ListAppender<>();
+        appender.start();
+        auditLogger.addAppender(appender);
+        method = UserService.class.getMethod("getUserById", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("FLUSH - Event'ler tek log kaydında satır satır yazılmalı")
+    void shouldWriteEventsAsBatch() {
+        AuditSink sink = new AuditSink(meterRegistry, 8, 256, AuditOverflowPolicy.DROP);
+        sink.record(method, 1_500_000L, false, new Object[]{1L});
+        sink.record(method, 2_000L, true, new Object[]{2L});
+
+        assertEquals(2, sink.flush());
+
+        assertEquals(1, appender.list.size());
+        String[] lines = appender.list.get(0).getFormattedMessage().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].endsWith("|UserService.getUserById|1500us|OK|" + Integer.toHexString(AuditSink.fingerprint(new Object[]{1L}))));
+        assertTrue(lines[1].contains("|2us|ERROR|"));
+        assertEquals(0, sink.flush());
+    }
+
+    @Test
+    @DisplayName("DROP - Buffer doluysa event atılmalı ve sayaç artmalı")
+    void shouldDropWhenBufferFull() {
+        AuditSink sink = new AuditSink(meterRegistry, 4, 256, AuditOverflowPolicy.DROP);
+        for (int i = 0; i < 6; i++) {
+            sink.record(method, 1L, false, new Object[]{(long) i});
+        }
+
+        assertEquals(2.0, meterRegistry.get("app.audit.dropped").counter().count());
+        assertEquals(4, sink.flush());
+    }
+
+    @Test
+    @DisplayName("BLOCK - Buffer doluysa tüketici yer açana kadar beklenmeli, event kaybolmamalı")
+    void shouldBlockUntilConsumerDrains() throws Exception {
+        AuditSink sink = new AuditSink(meterRegistry, 4, 2, AuditOverflowPolicy.BLOCK);
+        sink.start();
+        try {
+            for (int i = 0; i < 100; i++) {
+                sink.record(method, 1L, false, new Object[]{(long) i});
+            }
+        } finally {
+            sink.stop();
+        }
+
+        assertEquals(0.0, meterRegistry.get("app.audit.dropped").counter().count());
+        long lines = appender.list.stream()
+                .mapToLong(event -> event.getFormattedMessage().split("\n").length)
+                .sum();
+        assertEquals(100, lines);
+    }
+
+    @Test
+    @DisplayName("FINGERPRINT - Koleksiyonlarda elemanlar yerine boyut kullanılmalı")
+    void shouldFingerprintCollectionsBySize() {
+        assertEquals(AuditSink.fingerprint(new Object[]{List.of("a", "b")}),
+                AuditSink.fingerprint(new Object[]{List.of("x", "y")}));
+        assertNotEquals(AuditSink.fingerprint(new Object[]{1L}), AuditSink.fingerprint(new Object[]{2L}));
+    }
+}
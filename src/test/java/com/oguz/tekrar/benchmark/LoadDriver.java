@@ -0,0 +1,158 @@
+package com.oguz.tekrar.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// kapalı döngü (closed-loop) yük üreticisi: her istemci bir önceki cevabı aldıktan sonra yeni istek atar.
+// her istekte route'lar ağırlıklarına göre rastgele seçilir. ısınma süresindeki istekler sonuca katılmaz,
+// gecikmeler istemci ve route başına ayrı dizilerde tutulup sonda birleştirilir
+final class LoadDriver {
+
+    // request supplier null dönerse (ör. silinecek kayıt kalmadıysa) istek atılmaz
+    record Route(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    record RouteResult(String route, long requests, long errors, double throughput,
+                       double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%-28s requests=%-8d errors=%-5d throughput=%9.1f req/s  p50=%8.2f ms  p95=%8.2f ms  p99=%8.2f ms  max=%8.2f ms",
+                    route, requests, errors, throughput, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    private LoadDriver() {
+    }
+
+    static RouteResult run(String name, Supplier<URI> uris, int concurrency, Duration warmup, Duration duration) throws Exception {
+        Route route = new Route(name, 1, () -> HttpRequest.newBuilder(uris.get()).GET().build());
+        return run(List.of(route), concurrency, warmup, duration).get(name);
+    }
+
+    static Map<String, RouteResult> run(List<Route> routes, int concurrency, Duration warmup, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        int[] cumulativeWeights = new int[routes.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            totalWeight += Math.max(0, routes.get(i).weight());
+            cumulativeWeights[i] = totalWeight;
+        }
+        int weightSum = totalWeight;
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        List<Future<ClientStats>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    ClientStats stats = new ClientStats(routes.size());
+                    while (System.nanoTime() < deadline) {
+                        int routeIndex = pick(cumulativeWeights, weightSum);
+                        HttpRequest request = routes.get(routeIndex).request().get();
+                        if (request == null) {
+                            continue;
+                        }
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status >= 200 && status < 300;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= deadline) {
+                            stats.record(routeIndex, end - start, ok);
+                        }
+                    }
+                    return stats;
+                }));
+            }
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        Map<String, RouteResult> results = new LinkedHashMap<>();
+        for (int r = 0; r < routes.size(); r++) {
+            long[] all = new long[0];
+            long errors = 0;
+            for (Future<ClientStats> future : clients) {
+                ClientStats stats = future.get();
+                long[] latencies = Arrays.copyOf(stats.latencies[r], stats.counts[r]);
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+                errors += stats.errors[r];
+            }
+            Arrays.sort(all);
+            results.put(routes.get(r).name(), new RouteResult(routes.get(r).name(), all.length, errors, all.length / seconds,
+                    percentileMs(all, 0.50), percentileMs(all, 0.95), percentileMs(all, 0.99),
+                    all.length == 0 ? 0 : toMs(all[all.length - 1])));
+        }
+        return results;
+    }
+
+    private static int pick(int[] cumulativeWeights, int totalWeight) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMs(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMs(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    // sadece kendi istemci thread'i tarafından yazılır, senkronizasyon gerekmez
+    private static final class ClientStats {
+
+        private final long[][] latencies;
+        private final int[] counts;
+        private final long[] errors;
+
+        ClientStats(int routeCount) {
+            latencies = new long[routeCount][64];
+            counts = new int[routeCount];
+            errors = new long[routeCount];
+        }
+
+        void record(int route, long nanos, boolean ok) {
+            if (!ok) {
+                errors[route]++;
+                return;
+            }
+            if (counts[route] == latencies[route].length) {
+                latencies[route] = Arrays.copyOf(latencies[route], counts[route] * 2);
+            }
+            latencies[route][counts[route]++] = nanos;
+        }
+    }
+}
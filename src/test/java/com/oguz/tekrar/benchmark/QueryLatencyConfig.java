@@ -0,0 +1,81 @@
+package com.oguz.tekrar.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// H2 bellek içinde çalıştığı için sorgular PostgreSQL'deki gibi ağ/disk beklemez.
+// DataSource sarmalanıp her execute* çağrısından önce thread bekletilir; connection bu sürede
+// pool'dan alınmış durumda kalır, yani yavaş bir veritabanındaki gibi hem thread hem connection meşgul olur
+@TestConfiguration(proxyBeanMethods = false)
+class QueryLatencyConfig {
+
+    static final long DELAY_MS = Long.getLong("benchmark.query-delay-ms", 10);
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate");
+
+    // StatementMetricsDataSource da bir DelegatingDataSource, hangisi önce sararsa sarsın gecikme uygulanmalı.
+    // routing açıkken sadece LazyConnectionDataSourceProxy atlanır, gecikme iki kez eklenmesin
+    @Bean
+    static BeanPostProcessor queryLatencyDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return slow(super.getConnection());
+                        }
+                    };
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Connection slow(Connection connection) {
+        return (Connection) proxy(Connection.class, connection, true);
+    }
+
+    // connection'dan dönen Statement'lar da sarmalanır, gecikme sadece statement'ların execute* metodlarında uygulanır
+    private static Object proxy(Class<?> type, Object target, boolean wrapStatements) {
+        return Proxy.newProxyInstance(QueryLatencyConfig.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (!wrapStatements && EXECUTE_METHODS.contains(method.getName())) {
+                Thread.sleep(DELAY_MS);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (wrapStatements && result instanceof Statement statement) {
+                return proxy(statementType(statement), statement, false);
+            }
+            return result;
+        });
+    }
+
+    private static Class<?> statementType(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        if (statement instanceof PreparedStatement) {
+            return PreparedStatement.class;
+        }
+        return Statement.class;
+    }
+}
@@ -0,0 +1,128 @@
+package com.oguz.tekrar.benchmark;
+
+import com.oguz.tekrar.constant.UserApiPath;
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// aynı maaş aralığı sorgusu önce MVC/JPA endpoint'ine, sonra reaktif endpoint'e aynı yükle uygulanır.
+// Tomcat platform thread'lerde ve connection pool'lardan küçük tutulur: MVC'de her istek sorgu süresince bir Tomcat
+// thread'ini tutar, reaktif tarafta thread sorgu beklerken bırakılır ve sınır R2DBC pool'u olur.
+// iki tarafta da her statement QueryLatencyConfig.DELAY_MS gecikir. MVC yolu id'leri bellek içi maaş index'inden
+// alıp tek sorgu atar, reaktif yol kullanıcıları rolleriyle birlikte tek join sorgusuyla okur.
+// çalıştırmak için: mvn test -Pbenchmark -Dtest=ReactiveLoadBenchmarkTest
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=32",
+        "spring.threads.virtual.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=64",
+        "spring.datasource.url=jdbc:h2:mem:bench_reactive;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "app.reactive.enabled=true",
+        "app.reactive.r2dbc.url=r2dbc:h2:mem:///bench_reactive?options=DB_CLOSE_DELAY=-1",
+        "app.reactive.r2dbc.pool.max-size=64"
+})
+@Import({QueryLatencyConfig.class, ReactiveQueryLatencyConfig.class})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReactiveLoadBenchmarkTest {
+
+    private static final int USER_COUNT = 1000;
+    private static final int RANGE_WIDTH = 20;
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 15));
+
+    private static final List<LoadDriver.RouteResult> RESULTS = new ArrayList<>();
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.count() == 0) {
+            userRepository.saveAll(IntStream.range(0, USER_COUNT)
+                    .mapToObj(i -> {
+                        User user = User.builder().name("Bench" + i).email("bench" + i + "@mail.com")
+                                .age(20 + i % 40).maas(1000.0 + i).build();
+                        user.getRoles().add(Role.builder().roleName("ROLE_USER").user(user).build());
+                        return user;
+                    })
+                    .toList());
+        }
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("BENCHMARK - MVC/JPA maaş aralığı endpoint'ine yük")
+    void mvc() throws Exception {
+        run("mvc", UserApiPath.BASE_URL, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("BENCHMARK - Reaktif maaş aralığı endpoint'ine NDJSON stream olarak yük")
+    void reactiveNdjson() throws Exception {
+        run("reactive-ndjson", UserApiPath.REACTIVE_BASE_URL, MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("BENCHMARK - Reaktif maaş aralığı endpoint'ine JSON dizisi olarak yük")
+    void reactiveJson() throws Exception {
+        run("reactive-json", UserApiPath.REACTIVE_BASE_URL, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @AfterAll
+    static void report() {
+        System.out.printf("%n=== maaş aralığı (%d kullanıcı), %d eşzamanlı istemci, %d ms sorgu gecikmesi ===%n",
+                RANGE_WIDTH, CONCURRENCY, QueryLatencyConfig.DELAY_MS);
+        RESULTS.forEach(System.out::println);
+    }
+
+    // NDJSON'da her kullanıcı ayrı yazılıp flush edilir, JSON'da liste toplanıp tek seferde yazılır
+    private void run(String mode, String baseUrl, String accept) throws Exception {
+        String base = "http://localhost:" + port + baseUrl + UserApiPath.MAAS_ARALIGINA_GORE_GETIR;
+        LoadDriver.Route route = new LoadDriver.Route(mode, 1, () -> {
+            int min = 1000 + ThreadLocalRandom.current().nextInt(USER_COUNT - RANGE_WIDTH);
+            return HttpRequest.newBuilder(URI.create(base + "?min=" + min + "&max=" + (min + RANGE_WIDTH - 1)))
+                    .header(HttpHeaders.ACCEPT, accept)
+                    .GET()
+                    .build();
+        });
+        LoadDriver.RouteResult result = LoadDriver.run(List.of(route), CONCURRENCY, WARMUP, DURATION).get(mode);
+        RESULTS.add(result);
+        System.out.println(result);
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.requests()).isPositive();
+    }
+}
@@ -0,0 +1,79 @@
+package com.oguz.tekrar.benchmark;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+// QueryLatencyConfig'in R2DBC karşılığı: aynı gecikme ReactiveDataConfig'in ConnectionFactory'sine eklenir.
+// statement'ın sonucu DELAY_MS sonra gelir; connection bu sürede pool'dan alınmış kalır ama hiçbir thread beklemez
+@TestConfiguration(proxyBeanMethods = false)
+class ReactiveQueryLatencyConfig {
+
+    @Bean
+    static BeanPostProcessor reactiveQueryLatencyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory) {
+                    return new DelayedConnectionFactory(connectionFactory);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // pool dispose metoduyla kapatıldığı için sarmalayıcı da Disposable olmalı
+    private record DelayedConnectionFactory(ConnectionFactory delegate) implements ConnectionFactory, Disposable {
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.from(delegate.create()).map(connection -> (Connection) proxy(Connection.class, connection));
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return delegate.getMetadata();
+        }
+
+        @Override
+        public void dispose() {
+            if (delegate instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+
+    // bind/add gibi metodlar statement'ın kendisini döndürdüğünde proxy döner, yoksa execute gecikmesiz çalışırdı
+    private static Object proxy(Class<?> type, Object target) {
+        return Proxy.newProxyInstance(ReactiveQueryLatencyConfig.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result == target) {
+                return proxy;
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement);
+            }
+            if (type == Statement.class && method.getName().equals("execute")) {
+                return Flux.from((Publisher<?>) result).delaySubscription(Duration.ofMillis(QueryLatencyConfig.DELAY_MS));
+            }
+            return result;
+        });
+    }
+}
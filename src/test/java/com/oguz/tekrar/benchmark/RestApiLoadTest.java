@@ -0,0 +1,302 @@
+package com.oguz.tekrar.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oguz.tekrar.constant.SiteApiPath;
+import com.oguz.tekrar.constant.UserApiPath;
+import com.oguz.tekrar.dto.SiteRequest;
+import com.oguz.tekrar.dto.UserRequest;
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.Site;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.index.UserNameSuggestIndex;
+import com.oguz.tekrar.index.UserSalaryIndex;
+import com.oguz.tekrar.repository.UserRepository;
+import com.oguz.tekrar.service.UserAggregateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// uygulamayı test profilinde (H2) ayağa kaldırıp UserApiPath ve SiteApiPath'teki tüm route'lara karışık yük uygular.
+// route başına throughput ve p50/p95/p99 raporlanır (target/load-test-report.txt), p99 bütçesini aşan
+// ya da hata dönen route varsa test kırılır. ayarlar src/test/resources/load-test.properties içindedir.
+// çalıştırmak için: mvn test -Pload-test
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false"
+})
+class RestApiLoadTest {
+
+    private static final String[] NAMES = {"Ahmet", "Ayse", "Mehmet", "Zeynep", "Ali", "Elif", "Can", "Deniz"};
+    private static final String USERS = "users.";
+    private static final String SITES = "site.";
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserSalaryIndex userSalaryIndex;
+    @Autowired
+    UserNameSuggestIndex userNameSuggestIndex;
+    @Autowired
+    UserAggregateService userAggregateService;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final Settings settings = Settings.load();
+    private final AtomicLong uniqueCounter = new AtomicLong();
+
+    private long[] userIds;
+    private long[] siteIds;
+    private final Queue<Long> deletableUserIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> deletableSiteIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> deletableRoleIds = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> siteLessUserIds = new ConcurrentLinkedQueue<>();
+
+    @Test
+    @DisplayName("LOAD - Tüm route'lar p99 bütçesi içinde ve hatasız cevap vermeli")
+    void allRoutesShouldStayWithinBudget() throws Exception {
+        seed();
+        List<LoadDriver.Route> routes = routes();
+
+        Map<String, LoadDriver.RouteResult> results = LoadDriver.run(routes, settings.integer("concurrency"),
+                Duration.ofSeconds(settings.integer("warmup-seconds")), Duration.ofSeconds(settings.integer("duration-seconds")));
+
+        List<String> report = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        report.add(String.format("=== %d route, %d eşzamanlı istemci, %d sn ===",
+                routes.size(), settings.integer("concurrency"), settings.integer("duration-seconds")));
+        for (LoadDriver.RouteResult result : results.values()) {
+            long budget = settings.budgetMs(result.route());
+            boolean withinBudget = result.p99Ms() <= budget;
+            report.add(String.format("%s  budget=%5d ms  %s", result, budget, withinBudget && result.errors() == 0 ? "OK" : "FAIL"));
+            if (!withinBudget) {
+                violations.add(result.route() + " p99 " + String.format("%.2f", result.p99Ms()) + " ms > " + budget + " ms");
+            }
+            if (result.errors() > 0) {
+                violations.add(result.route() + " " + result.errors() + " hatalı cevap");
+            }
+        }
+        report.forEach(System.out::println);
+        Files.write(Path.of("target", "load-test-report.txt"), report);
+
+        assertThat(violations).as("bütçeyi aşan ya da hata dönen route'lar").isEmpty();
+    }
+
+    // kayıtlar repository üzerinden toplu eklenir, ardından bellek içi index ve aggregate'ler
+    // uygulama yeniden başlamış gibi veritabanından tekrar yüklenir
+    private void seed() {
+        int count = settings.integer("seed.users");
+        int disposable = settings.integer("seed.disposable-users") / 4;
+        List<User> stable = userRepository.saveAll(newUsers(count, true, true));
+        userIds = stable.stream().mapToLong(User::getId).toArray();
+        siteIds = stable.stream().mapToLong(user -> user.getSite().getId()).toArray();
+        userRepository.saveAll(newUsers(disposable, true, true)).forEach(user -> deletableUserIds.add(user.getId()));
+        userRepository.saveAll(newUsers(disposable, false, true)).forEach(user -> deletableSiteIds.add(user.getSite().getId()));
+        userRepository.saveAll(newUsers(disposable, true, false)).forEach(user -> deletableRoleIds.add(user.getRoles().get(0).getId()));
+        userRepository.saveAll(newUsers(disposable, false, false)).forEach(user -> siteLessUserIds.add(user.getId()));
+
+        userSalaryIndex.load();
+        userNameSuggestIndex.load();
+        userAggregateService.reconcile();
+    }
+
+    private List<User> newUsers(int count, boolean withRole, boolean withSite) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long unique = uniqueCounter.incrementAndGet();
+            User user = User.builder()
+                    .name(NAMES[(int) (unique % NAMES.length)] + unique)
+                    .surname("Soyad" + unique)
+                    .email("seed" + unique + "@mail.com")
+                    .age(20 + (int) (unique % 45))
+                    .maas(10_000.0 + unique % 5_000 * 10)
+                    .roles(new ArrayList<>())
+                    .build();
+            if (withRole) {
+                user.getRoles().add(Role.builder().roleName("ROLE_USER").user(user).build());
+            }
+            if (withSite) {
+                user.setSite(Site.builder().name("site" + unique).port(String.valueOf(8000 + unique % 1000)).user(user).build());
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    private List<LoadDriver.Route> routes() {
+        List<LoadDriver.Route> routes = new ArrayList<>();
+        // UserApiPath
+        route(routes, USERS + "GET_ALL", () -> get(users(UserApiPath.GET_ALL) + "?limit=50&after=" + randomUserId()));
+        route(routes, USERS + "EXPORT", () -> get(users(UserApiPath.EXPORT)));
+        route(routes, USERS + "GET_BY_ID", () -> get(users(UserApiPath.GET_BY_ID).replace("{id}", String.valueOf(randomUserId()))));
+        route(routes, USERS + "CREATE", () -> post(users(UserApiPath.CREATE), newUserRequest()));
+        route(routes, USERS + "BULK_CREATE", () -> post(users(UserApiPath.BULK_CREATE),
+                java.util.stream.Stream.generate(this::newUserRequest).limit(50).toList()));
+        route(routes, USERS + "UPDATE", () -> put(users(UserApiPath.UPDATE).replace("{id}", String.valueOf(randomUserId())),
+                UserRequest.builder().maas(10_000.0 + ThreadLocalRandom.current().nextInt(50_000)).build()));
+        route(routes, USERS + "DELETE", () -> delete(users(UserApiPath.DELETE), "{id}", deletableUserIds));
+        route(routes, USERS + "DELETE_ROLE", () -> delete(users(UserApiPath.DELETE_ROLE), "{roleId}", deletableRoleIds));
+        route(routes, USERS + "TUM_KULLANICILARI_GETIR", () -> get(users(UserApiPath.TUM_KULLANICILARI_GETIR) + "?limit=50&after=" + randomUserId()));
+        route(routes, USERS + "GET_USER_NAMES", () -> get(users(UserApiPath.GET_USER_NAMES)));
+        route(routes, USERS + "SEARCH_BY_PART", () -> get(users(UserApiPath.SEARCH_BY_PART) + "?name=" + randomName() + "1"));
+        route(routes, USERS + "SEARCH_ADVANCED", () -> get(users(UserApiPath.SEARCH_ADVANCED) + "?name=" + randomName() + "&age=" + (20 + ThreadLocalRandom.current().nextInt(45))));
+        route(routes, USERS + "SEARCH_SUGGEST", () -> get(users(UserApiPath.SEARCH_SUGGEST) + "?prefix=" + randomName().substring(0, 2) + "&limit=10"));
+        route(routes, USERS + "SEARCH_CONTAINS", () -> get(users(UserApiPath.SEARCH_CONTAINS) + "?name=" + randomName().substring(1) + "&limit=20"));
+        route(routes, USERS + "GET_MAAS_AZALAN_SIRALAMA", () -> get(users(UserApiPath.GET_MAAS_AZALAN_SIRALAMA)));
+        route(routes, USERS + "GET_MAAS_TOP", () -> get(users(UserApiPath.GET_MAAS_TOP) + "?limit=50"));
+        route(routes, USERS + "FIND_USERS_BY_ISIMLER", () -> post(users(UserApiPath.FIND_USERS_BY_ISIMLER),
+                java.util.stream.Stream.generate(() -> randomName() + ThreadLocalRandom.current().nextInt(1, (int) uniqueCounter.get())).limit(100).toList()));
+        route(routes, USERS + "COUNT_USER_BY_AGE", () -> get(users(UserApiPath.COUNT_USER_BY_AGE) + "?age=" + (20 + ThreadLocalRandom.current().nextInt(45))));
+        route(routes, USERS + "MAAS_ARALIGINA_GORE_GETIR", () -> {
+            int min = 10_000 + ThreadLocalRandom.current().nextInt(50_000);
+            return get(users(UserApiPath.MAAS_ARALIGINA_GORE_GETIR) + "?min=" + min + "&max=" + (min + 500));
+        });
+        route(routes, USERS + "COUNT_MAAS_ARALIGI", () -> {
+            int min = 10_000 + ThreadLocalRandom.current().nextInt(50_000);
+            return get(users(UserApiPath.COUNT_MAAS_ARALIGI) + "?min=" + min + "&max=" + (min + 5_000));
+        });
+        route(routes, USERS + "FIND_USERS_NAME_IS_NULL", () -> get(users(UserApiPath.FIND_USERS_NAME_IS_NULL)));
+        route(routes, USERS + "GET_MAAS_SUM", () -> get(users(UserApiPath.GET_MAAS_SUM)));
+        // SiteApiPath
+        route(routes, SITES + "GET_ALL", () -> get(sites(SiteApiPath.GET_ALL)));
+        route(routes, SITES + "GET_BY_ID", () -> get(sites(SiteApiPath.GET_BY_ID).replace("{id}", String.valueOf(randomSiteId()))));
+        route(routes, SITES + "CREATE", () -> {
+            Long userId = siteLessUserIds.poll();
+            return userId == null ? null : post(sites(SiteApiPath.CREATE), new SiteRequest("yeni-site", "9000", userId));
+        });
+        route(routes, SITES + "UPDATE", () -> put(sites(SiteApiPath.UPDATE).replace("{id}", String.valueOf(randomSiteId())),
+                SiteRequest.builder().port(String.valueOf(8000 + ThreadLocalRandom.current().nextInt(1000))).build()));
+        route(routes, SITES + "DELETE", () -> delete(sites(SiteApiPath.DELETE), "{id}", deletableSiteIds));
+        return routes;
+    }
+
+    private void route(List<LoadDriver.Route> routes, String name, Supplier<HttpRequest> request) {
+        routes.add(new LoadDriver.Route(name, settings.weight(name), request));
+    }
+
+    private String users(String path) {
+        return "http://localhost:" + port + UserApiPath.BASE_URL + path;
+    }
+
+    private String sites(String path) {
+        return "http://localhost:" + port + SiteApiPath.BASE_URL + path;
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String uri, Object body) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json(body))).build();
+    }
+
+    private HttpRequest put(String uri, Object body) {
+        return HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json(body))).build();
+    }
+
+    // her kayıt bir kez silinir, havuz boşalınca bu route için istek atılmaz
+    private HttpRequest delete(String uri, String placeholder, Queue<Long> ids) {
+        Long id = ids.poll();
+        return id == null ? null : HttpRequest.newBuilder(URI.create(uri.replace(placeholder, String.valueOf(id))))
+                .timeout(Duration.ofSeconds(30)).DELETE().build();
+    }
+
+    private UserRequest newUserRequest() {
+        long unique = uniqueCounter.incrementAndGet();
+        return UserRequest.builder()
+                .name(randomName() + unique)
+                .surname("Soyad" + unique)
+                .email("load" + unique + "@mail.com")
+                .password("secret")
+                .age(20 + (int) (unique % 45))
+                .maas(10_000.0 + unique % 5_000 * 10)
+                .build();
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    private long randomSiteId() {
+        return siteIds[ThreadLocalRandom.current().nextInt(siteIds.length)];
+    }
+
+    private String randomName() {
+        return NAMES[ThreadLocalRandom.current().nextInt(NAMES.length)];
+    }
+
+    // load-test.properties + -Dload.* system property'leri
+    private record Settings(Properties properties) {
+
+        private static final String PREFIX = "load.";
+
+        static Settings load() {
+            Properties properties = new Properties();
+            try (InputStream in = RestApiLoadTest.class.getResourceAsStream("/load-test.properties")) {
+                if (in != null) {
+                    properties.load(in);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(key -> key.startsWith(PREFIX))
+                    .forEach(key -> properties.setProperty(key, System.getProperty(key)));
+            return new Settings(properties);
+        }
+
+        int integer(String key) {
+            return Integer.parseInt(properties.getProperty(PREFIX + key).trim());
+        }
+
+        int weight(String route) {
+            return Integer.parseInt(properties.getProperty(PREFIX + "route." + route + ".weight",
+                    properties.getProperty(PREFIX + "default.weight")).trim());
+        }
+
+        long budgetMs(String route) {
+            return Long.parseLong(properties.getProperty(PREFIX + "route." + route + ".p99-budget-ms",
+                    properties.getProperty(PREFIX + "default.p99-budget-ms")).trim());
+        }
+    }
+}
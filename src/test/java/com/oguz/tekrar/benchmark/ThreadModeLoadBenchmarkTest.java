@@ -0,0 +1,119 @@
+package com.oguz.tekrar.benchmark;
+
+import com.oguz.tekrar.constant.UserApiPath;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestClassOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// aynı yük platform thread ve virtual thread modlarında ayrı ayrı uygulanıp throughput ve p99 karşılaştırılır.
+// Tomcat thread sayısı connection pool'dan küçük tutulur, böylece platform modunda önce thread'ler tükenir.
+// çalıştırmak için: mvn test -Pbenchmark (süreler -Dbenchmark.duration-seconds, -Dbenchmark.concurrency ile değiştirilebilir)
+@Tag("benchmark")
+@TestClassOrder(ClassOrderer.OrderAnnotation.class)
+class ThreadModeLoadBenchmarkTest {
+
+    private static final int USER_COUNT = 1000;
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 15));
+
+    private static final List<LoadDriver.RouteResult> RESULTS = new ArrayList<>();
+
+    private static final String COMMON_PROPERTIES = """
+            server.tomcat.threads.max=32
+            spring.datasource.hikari.maximum-pool-size=64
+            spring.jpa.show-sql=false
+            spring.jpa.properties.hibernate.generate_statistics=false
+            """;
+
+    @Nested
+    @Order(1)
+    @ActiveProfiles("test")
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            COMMON_PROPERTIES,
+            "spring.threads.virtual.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:bench_platform;DB_CLOSE_DELAY=-1"
+    })
+    @Import(QueryLatencyConfig.class)
+    class PlatformThreads extends Scenario {
+
+        @Test
+        @DisplayName("BENCHMARK - Platform thread modunda yük")
+        void platformThreads() throws Exception {
+            run("platform");
+        }
+    }
+
+    @Nested
+    @Order(2)
+    @ActiveProfiles("test")
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            COMMON_PROPERTIES,
+            "spring.threads.virtual.enabled=true",
+            "spring.datasource.url=jdbc:h2:mem:bench_virtual;DB_CLOSE_DELAY=-1"
+    })
+    @Import(QueryLatencyConfig.class)
+    class VirtualThreads extends Scenario {
+
+        @Test
+        @DisplayName("BENCHMARK - Virtual thread modunda yük")
+        void virtualThreads() throws Exception {
+            run("virtual");
+        }
+    }
+
+    @AfterAll
+    static void report() {
+        System.out.printf("%n=== cursor endpoint, %d eşzamanlı istemci, %d ms sorgu gecikmesi ===%n",
+                CONCURRENCY, QueryLatencyConfig.DELAY_MS);
+        RESULTS.forEach(System.out::println);
+    }
+
+    abstract static class Scenario {
+
+        @LocalServerPort
+        int port;
+        @Autowired
+        UserRepository userRepository;
+
+        void run(String mode) throws Exception {
+            if (userRepository.count() == 0) {
+                userRepository.saveAll(IntStream.range(0, USER_COUNT)
+                        .mapToObj(i -> User.builder().name("Bench" + i).email("bench" + i + "@mail.com")
+                                .age(20 + i % 40).maas(1000.0 + i).build())
+                        .toList());
+            }
+
+            String base = "http://localhost:" + port + UserApiPath.BASE_URL + UserApiPath.GET_ALL + "?limit=20&after=";
+            LoadDriver.RouteResult result = LoadDriver.run(mode,
+                    () -> URI.create(base + ThreadLocalRandom.current().nextInt(USER_COUNT)),
+                    CONCURRENCY, WARMUP, DURATION);
+            RESULTS.add(result);
+            System.out.println(result);
+
+            assertThat(result.errors()).isZero();
+            assertThat(result.requests()).isPositive();
+        }
+    }
+}
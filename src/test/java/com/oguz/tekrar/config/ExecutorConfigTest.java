@@ -0,0 +1,44 @@
+package com.oguz.tekrar.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(ExecutorConfig.class);
+
+    @Test
+    @DisplayName("PLATFORM - Varsayılan modda sınırlı thread havuzları kullanılmalı")
+    void shouldUseThreadPools_WhenVirtualThreadsDisabled() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean(ExecutorConfig.USER_QUERY_EXECUTOR)).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME))
+                    .isInstanceOf(ThreadPoolTaskExecutor.class);
+        });
+    }
+
+    @Test
+    @DisplayName("VIRTUAL - spring.threads.virtual.enabled ile executor'lar virtual thread üretmeli")
+    void shouldUseVirtualThreads_WhenEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Executor userQueryExecutor = context.getBean(ExecutorConfig.USER_QUERY_EXECUTOR, Executor.class);
+            assertThat(userQueryExecutor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+            assertThat(((SimpleAsyncTaskExecutor) userQueryExecutor).getConcurrencyLimit()).isEqualTo(4);
+            assertThat(CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), userQueryExecutor).join()).isTrue();
+            assertThat(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME))
+                    .isInstanceOf(SimpleAsyncTaskExecutor.class);
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.oguz.tekrar.controller;
+
+import com.oguz.tekrar.constant.UserApiPath;
+import com.oguz.tekrar.dto.RoleDto;
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.service.ReactiveUserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ReactiveUserController.class, properties = "app.reactive.enabled=true")
+class ReactiveUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReactiveUserService reactiveUserService;
+
+    @Test
+    @DisplayName("GET ALL - Accept verilmezse her kullanıcı ayrı NDJSON satırı olarak stream edilmeli")
+    void shouldStreamAllUsersAsNdjsonByDefault() throws Exception {
+        when(reactiveUserService.getAllUsers()).thenReturn(Flux.just(userResponse(1L, "Ahmet"), userResponse(2L, "Bahar")));
+
+        MvcResult result = mockMvc.perform(get(UserApiPath.REACTIVE_BASE_URL + UserApiPath.GET_ALL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<String> lines = body.lines().filter(line -> !line.isBlank()).toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"name\":\"Ahmet\""), body);
+        assertTrue(lines.get(1).contains("\"roleName\":\"ROLE_USER\""), body);
+    }
+
+    @Test
+    @DisplayName("GET ALL - JSON istenirse kullanıcılar tek bir dizi olarak dönmeli")
+    void shouldReturnAllUsersAsJsonArray() throws Exception {
+        when(reactiveUserService.getAllUsers()).thenReturn(Flux.just(userResponse(1L, "Ahmet"), userResponse(2L, "Bahar")));
+
+        MvcResult result = mockMvc.perform(get(UserApiPath.REACTIVE_BASE_URL + UserApiPath.GET_ALL)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].name", is("Bahar")));
+    }
+
+    @Test
+    @DisplayName("GET BY ID - ID ile kullanıcı dönmeli")
+    void shouldReturnUserById() throws Exception {
+        when(reactiveUserService.getUserById(1L)).thenReturn(Mono.just(userResponse(1L, "Ahmet")));
+
+        MvcResult result = mockMvc.perform(get(UserApiPath.REACTIVE_BASE_URL + UserApiPath.GET_BY_ID, 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.roles[0].roleName", is("ROLE_USER")));
+    }
+
+    @Test
+    @DisplayName("SEARCH - name parametresi servise prefix olarak gitmeli, NDJSON istenirse stream edilmeli")
+    void shouldSearchUsersByPrefix() throws Exception {
+        when(reactiveUserService.searchUsers("ah")).thenReturn(Flux.just(userResponse(1L, "Ahmet")));
+
+        MvcResult result = mockMvc.perform(get(UserApiPath.REACTIVE_BASE_URL + UserApiPath.SEARCH_BY_PART)
+                        .param("name", "ah")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"name\":\"Ahmet\"")));
+    }
+
+    @Test
+    @DisplayName("MAAS ARALIGI - min ve max servise doğru sırayla gitmeli, Accept verilmezse JSON dizisi dönmeli")
+    void shouldFindUsersBySalaryRange() throws Exception {
+        when(reactiveUserService.findMaasAraligi(1000.0, 5000.0)).thenReturn(Flux.just(userResponse(1L, "Ahmet")));
+
+        MvcResult result = mockMvc.perform(get(UserApiPath.REACTIVE_BASE_URL + UserApiPath.MAAS_ARALIGINA_GORE_GETIR)
+                        .param("min", "1000")
+                        .param("max", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].maas", is(3000.0)));
+    }
+
+    private UserResponse userResponse(Long id, String name) {
+        return UserResponse.builder()
+                .id(id)
+                .name(name)
+                .maas(3000.0)
+                .roles(List.of(new RoleDto(id, "ROLE_USER")))
+                .build();
+    }
+}
@@ -2,10 +2,15 @@ package com.oguz.tekrar.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.oguz.tekrar.constant.UserApiPath;
+import com.oguz.tekrar.dto.BulkUserResponse;
+import com.oguz.tekrar.dto.CursorPageResponse;
+import com.oguz.tekrar.dto.SalaryRankPageResponse;
 import com.oguz.tekrar.dto.UserNameResponse;
 import com.oguz.tekrar.dto.UserRequest;
 import com.oguz.tekrar.dto.UserResponse;
 import com.oguz.tekrar.dto.UserSearchDto;
+import com.oguz.tekrar.dto.UserSuggestion;
+import com.oguz.tekrar.service.UserExportService;
 import com.oguz.tekrar.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +19,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -22,11 +30,14 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -40,18 +51,71 @@ class UserControllerTest {
 
     @MockitoBean
     private UserService userService;
+
+    @MockitoBean
+    private UserExportService userExportService;
     private static final Long userId = 1L;
 
     @Test
-    @DisplayName("GET ALL - Tüm kullanıcıları getirmeli")
-    void shouldReturnAllUsers() throws Exception {
-        when(userService.getAllUsers()).thenReturn(List.of(userResponse()));
+    @DisplayName("GET ALL - Parametresiz çağrıda varsayılan limitli ilk sayfa dönmeli")
+    void shouldReturnFirstPage_WhenNoCursorGiven() throws Exception {
+        when(userService.getUsersAfter(null, null)).thenReturn(new CursorPageResponse<>(List.of(userResponse()), userId));
         mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.GET_ALL)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].name", is("Test")));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", is("Test")))
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+    }
+
+    @Test
+    @DisplayName("GET ALL - after ve limit ile sayfa ve nextCursor dönmeli")
+    void shouldReturnUsersByCursor() throws Exception {
+        when(userService.getUsersAfter(10L, 1)).thenReturn(new CursorPageResponse<>(List.of(userResponse()), userId));
+        mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.GET_ALL)
+                        .param("after", "10")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is(1)));
+    }
+
+    @Test
+    @DisplayName("TOP SALARY - lastMaas, lastId ve limit ile sıralama sayfası dönmeli")
+    void shouldReturnTopUsersBySalary() throws Exception {
+        when(userService.getTopUsersBySalary(5000.0, 10L, 1))
+                .thenReturn(new SalaryRankPageResponse(List.of(userResponse()), 4000.0, userId));
+        mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.GET_MAAS_TOP)
+                        .param("lastMaas", "5000.0")
+                        .param("lastId", "10")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextMaas", is(4000.0)))
+                .andExpect(jsonPath("$.nextId", is(1)));
+    }
+
+    @Test
+    @DisplayName("EXPORT - Kullanıcılar NDJSON olarak stream edilmeli")
+    void shouldExportUsersAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(userExportService).exportUsers(any());
+        MvcResult result = mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.EXPORT))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
     }
 
     @Test
@@ -80,6 +144,18 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name", is("Test")));
     }
 
+    @Test
+    @DisplayName("BULK CREATE - Kullanıcılar toplu olarak oluşturulmalı")
+    void shouldCreateUsersBulk() throws Exception {
+        when(userService.createUsersBulk(any())).thenReturn(new BulkUserResponse(2));
+        mockMvc.perform(post(UserApiPath.BASE_URL + UserApiPath.BULK_CREATE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(userRequest(), userRequest()))))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.createdCount", is(2)));
+    }
+
     @Test
     @DisplayName("UPDATE - Kullanıcı güncellenmeli")
     void shouldUpdateUser() throws Exception {
@@ -115,14 +191,17 @@ class UserControllerTest {
     }
 
     @Test
-    @DisplayName("CUSTOM GET ALL - Custom sorgu ile tüm kullanıcıları getirmeli")
+    @DisplayName("CUSTOM GET ALL - get-all-users ile aynı sayfalı cevap dönmeli")
     void shouldReturnAllUsersCustom() throws Exception {
-        when(userService.getAllUsersCustom()).thenReturn(List.of(userResponse()));
+        when(userService.getUsersAfter(10L, 5)).thenReturn(new CursorPageResponse<>(List.of(userResponse()), null));
         mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.TUM_KULLANICILARI_GETIR)
+                        .param("after", "10")
+                        .param("limit", "5")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
     }
 
     @Test
@@ -168,6 +247,34 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].age", is(18)));
     }
 
+    @Test
+    @DisplayName("SUGGEST - Prefix ile isim önerileri dönmeli")
+    void shouldSuggestUsers() throws Exception {
+        when(userService.suggestUsers("te", 5)).thenReturn(List.of(new UserSuggestion(userId, "Test")));
+        mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.SEARCH_SUGGEST)
+                        .param("prefix", "te")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].name", is("Test")));
+    }
+
+    @Test
+    @DisplayName("SEARCH CONTAINS - İsmin içinde geçen parça ile kullanıcılar dönmeli")
+    void shouldSearchUsersContaining() throws Exception {
+        when(userService.searchUsersContaining("es", 20)).thenReturn(List.of(userResponse()));
+        mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.SEARCH_CONTAINS)
+                        .param("name", "es")
+                        .param("limit", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Test")));
+    }
+
     @Test
     @DisplayName("SORT DESC - Maaşa göre azalan sıralı getirmeli")
     void shouldGetUsersBySalaryDesc() throws Exception {
@@ -221,6 +328,19 @@ class UserControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    @DisplayName("MAAS RANGE COUNT - Maaş aralığındaki kullanıcı sayısı dönmeli")
+    void shouldCountMaasAraligi() throws Exception {
+        when(userService.countMaasAraligi(1000.0, 5000.0)).thenReturn(3L);
+        mockMvc.perform(get(UserApiPath.BASE_URL + UserApiPath.COUNT_MAAS_ARALIGI)
+                        .param("min", "1000.0")
+                        .param("max", "5000.0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", is(3)));
+    }
+
     @Test
     @DisplayName("NULL NAME - İsmi null olanları getirmeli")
     void shouldFindUsersNameIsNull() throws Exception {
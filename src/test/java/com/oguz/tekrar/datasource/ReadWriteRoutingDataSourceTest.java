@@ -0,0 +1,93 @@
+package com.oguz.tekrar.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("ROUTING - Yazma ve transaction dışı çağrılar primary'e, readOnly çağrılar replikalara sırayla gitmeli")
+    void shouldRouteReadOnlyToReplicasRoundRobin() {
+        DataSource first = mock(DataSource.class);
+        DataSource second = mock(DataSource.class);
+        ReadWriteRoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, first, second);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("ROUTING - LEAST_CONNECTIONS en az aktif connection'ı olan replikayı seçmeli")
+    void shouldPickLeastBusyReplica() {
+        HikariDataSource busy = hikari(5);
+        HikariDataSource idle = hikari(1);
+        ReadWriteRoutingDataSource routing = routing(ReplicaSelection.LEAST_CONNECTIONS, busy, idle);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", routing.determineCurrentLookupKey());
+        }
+    }
+
+    @Test
+    @DisplayName("LAG - Gecikmesi sınırı aşan ya da erişilemeyen replika atlanmalı, hiç replika kalmazsa primary kullanılmalı")
+    void shouldSkipLaggingAndUnreachableReplicas() throws SQLException {
+        DataSource lagging = new DriverManagerDataSource("jdbc:h2:mem:lagcheck;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("bağlantı yok"));
+        ReadWriteRoutingDataSource routing = routing(ReplicaSelection.ROUND_ROBIN, lagging, unreachable);
+
+        routing.refreshReplicaHealth("select 10", Duration.ofSeconds(5));
+        assertFalse(routing.isHealthy("replica-0"));
+        assertFalse(routing.isHealthy("replica-1"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+
+        routing.refreshReplicaHealth("select 2", Duration.ofSeconds(5));
+        assertTrue(routing.isHealthy("replica-0"));
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+        assertEquals("replica-0", routing.determineCurrentLookupKey());
+    }
+
+    private ReadWriteRoutingDataSource routing(ReplicaSelection selection, DataSource... replicas) {
+        Map<String, DataSource> targets = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.length; i++) {
+            targets.put("replica-" + i, replicas[i]);
+        }
+        return new ReadWriteRoutingDataSource(primary, targets, selection);
+    }
+
+    private static HikariDataSource hikari(int activeConnections) {
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(pool.getActiveConnections()).thenReturn(activeConnections);
+        return dataSource;
+    }
+}
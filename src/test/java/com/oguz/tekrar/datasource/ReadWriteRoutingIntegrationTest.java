@@ -0,0 +1,70 @@
+package com.oguz.tekrar.datasource;
+
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// iki ayrı H2 veritabanı: replikada çoğaltma olmadığı için bir kaydın nereden okunduğu içeriğinden anlaşılır
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.lag-query=",
+        "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY_URL,
+        "app.datasource.routing.replicas[0].url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL
+})
+class ReadWriteRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Test
+    @DisplayName("ROUTING - Yazmalar primary'e, readOnly okumalar replikaya gitmeli")
+    void shouldWriteToPrimaryAndReadFromReplica() {
+        User written = userRepository.save(User.builder().name("Primary").email("primary@mail.com").age(30).build());
+
+        // SimpleJpaRepository.findById readOnly transaction açar, kayıt replikada olmadığı için bulunamaz
+        assertTrue(userRepository.findById(written.getId()).isEmpty());
+
+        replica.update("insert into users (user_id, user_name, user_name_search, user_email, user_age) values (?, ?, ?, ?, ?)",
+                900_000L, "Replika", "replika", "replika@mail.com", 40);
+        assertEquals("Replika", userRepository.findById(900_000L).map(User::getName).orElseThrow());
+
+        // yazma transaction'ı içindeki okumalar primary'de kalır
+        User readInWriteTransaction = transactionTemplate.execute(status -> userRepository.findById(written.getId()).orElse(null));
+        assertNotNull(readInWriteTransaction);
+    }
+
+    // şema Hibernate tarafından sadece primary'de oluşturulur, index'ler ApplicationReadyEvent'te
+    // replikadan okumadan önce aynı şema replikaya kopyalanır
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        @EventListener(ContextRefreshedEvent.class)
+        void copySchema() {
+            JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+            JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+            primary.queryForList("script nodata", String.class).stream()
+                    .filter(sql -> !sql.startsWith("CREATE USER") && !sql.startsWith("--"))
+                    .forEach(replica::execute);
+        }
+    }
+}
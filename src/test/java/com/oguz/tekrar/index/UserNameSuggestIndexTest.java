@@ -0,0 +1,151 @@
+package com.oguz.tekrar.index;
+
+import com.oguz.tekrar.dto.UserSuggestion;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserNameSuggestIndexTest {
+
+    @InjectMocks
+    UserNameSuggestIndex index;
+    @Mock
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.streamUserSuggestions()).thenReturn(Stream.of(
+                new UserSuggestion(1L, "Ahmet"),
+                new UserSuggestion(2L, "Ahmet"),
+                new UserSuggestion(3L, "Ayşe"),
+                new UserSuggestion(4L, "Mehmet")));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("SUGGEST - Prefix'e uyan isimler büyük/küçük harf duyarsız ve sıralı dönmeli")
+    void shouldReturnMatchesInOrder() {
+        List<UserSuggestion> result = index.suggest("AH", 10);
+        assertEquals(List.of(new UserSuggestion(1L, "Ahmet"), new UserSuggestion(2L, "Ahmet")), result);
+    }
+
+    @Test
+    @DisplayName("SUGGEST - Sonuç sayısı limit ile sınırlanmalı")
+    void shouldRespectLimit() {
+        assertEquals(2, index.suggest("a", 2).size());
+        assertEquals(4, index.suggest("", 10).size());
+    }
+
+    @Test
+    @DisplayName("SUGGEST - İ ve ı ile başlayan isimler düz i prefix'i ile de önerilmeli")
+    void shouldFoldTurkishDottedAndDotlessI() {
+        index.onUserChanged(UserChangedEvent.created(snapshot(5L, "İbrahim")));
+        index.onUserChanged(UserChangedEvent.created(snapshot(6L, "Işık")));
+
+        assertEquals(List.of(new UserSuggestion(5L, "İbrahim")), index.suggest("ib", 10));
+        assertEquals(List.of(new UserSuggestion(5L, "İbrahim")), index.suggest("İB", 10));
+        assertEquals(List.of(new UserSuggestion(6L, "Işık")), index.suggest("ış", 10));
+        assertEquals(List.of(new UserSuggestion(6L, "Işık")), index.suggest("İŞ", 10));
+    }
+
+    @Test
+    @DisplayName("EVENT - Oluşturma, güncelleme ve silme index'e yansımalı")
+    void shouldFollowUserChanges() {
+        index.onUserChanged(UserChangedEvent.created(snapshot(5L, "Ahu")));
+        assertEquals(3, index.suggest("ah", 10).size());
+
+        index.onUserChanged(UserChangedEvent.updated(snapshot(4L, "Mehmet"), snapshot(4L, "Ahmet Can")));
+        assertTrue(index.suggest("meh", 10).isEmpty());
+        assertEquals(4, index.suggest("ah", 10).size());
+
+        index.onUserChanged(UserChangedEvent.deleted(snapshot(1L, "Ahmet")));
+        assertEquals(3, index.suggest("ah", 10).size());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("EVENT - Aynı kullanıcı için tekrar eklemede eski isim index'te kalmamalı")
+    void shouldReplacePreviousKeyOfSameUser() {
+        // oluşturma event'i yükleme stream'inde de gelmiş bir kullanıcı için tekrar uygulanabilir
+        index.onUserChanged(UserChangedEvent.created(snapshot(4L, "Kemal")));
+
+        assertTrue(index.suggest("meh", 10).isEmpty());
+        assertEquals(List.of(new UserSuggestion(4L, "Kemal")), index.suggest("ke", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("LOAD - Tekrar yüklemede index sıfırdan kurulmalı, silinen ya da adı değişen kullanıcı kalmamalı")
+    void shouldRebuildOnReload() {
+        assertTrue(index.isReady());
+        when(userRepository.streamUserSuggestions()).thenReturn(Stream.of(
+                new UserSuggestion(1L, "Ahmet"),
+                new UserSuggestion(4L, "Kemal")));
+
+        index.load();
+
+        assertEquals(List.of(new UserSuggestion(1L, "Ahmet")), index.suggest("a", 10));
+        assertTrue(index.suggest("meh", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("LOAD - Yükleme sırasında gelen yeniden adlandırma beklemeden uygulanmalı ve stream'deki eski satır tarafından ezilmemeli")
+    void shouldApplyEventsReceivedDuringLoadAfterIt() {
+        boolean[] renamedWhileLoading = new boolean[1];
+        when(userRepository.streamUserSuggestions()).thenReturn(Stream.of(
+                        new UserSuggestion(1L, "Ahmet"),
+                        new UserSuggestion(4L, "Mehmet"))
+                .peek(suggestion -> {
+                    if (suggestion.id() == 1L) {
+                        // event başka bir thread'den gelir, yükleme bitmeden tamamlanabilmeli
+                        Thread rename = Thread.startVirtualThread(() -> index.onUserChanged(
+                                UserChangedEvent.updated(snapshot(4L, "Mehmet"), snapshot(4L, "Kemal"))));
+                        renamedWhileLoading[0] = join(rename);
+                    }
+                }));
+
+        index.load();
+
+        assertTrue(renamedWhileLoading[0]);
+        assertTrue(index.suggest("meh", 10).isEmpty());
+        assertEquals(List.of(new UserSuggestion(4L, "Kemal")), index.suggest("ke", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("READY - Yükleme bitmeden index hazır sayılmamalı")
+    void shouldNotBeReadyBeforeLoad() {
+        assertFalse(new UserNameSuggestIndex(userRepository).isReady());
+    }
+
+    private static boolean join(Thread thread) {
+        try {
+            return thread.join(Duration.ofSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private UserSnapshot snapshot(Long id, String name) {
+        return new UserSnapshot(id, name, null, null, null);
+    }
+}
@@ -0,0 +1,137 @@
+package com.oguz.tekrar.index;
+
+import com.oguz.tekrar.dto.UserFullNameDto;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserNameTrigramIndexTest {
+
+    @InjectMocks
+    UserNameTrigramIndex index;
+    @Mock
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.streamUserFullNames()).thenReturn(Stream.of(
+                new UserFullNameDto(1L, "Ahmet", "Yılmaz"),
+                new UserFullNameDto(2L, "Bahar", "Kaya"),
+                new UserFullNameDto(3L, "Mehmet", null),
+                new UserFullNameDto(4L, null, "Ahmetoğlu"),
+                new UserFullNameDto(5L, null, null)));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("CONTAINS - İsim ya da soyisim içinde geçen parça büyük/küçük harf duyarsız bulunmalı")
+    void shouldFindUsersContainingPart() {
+        assertArrayEquals(new long[]{1L, 3L, 4L}, index.findIdsContaining("MET", 10));
+        assertArrayEquals(new long[]{1L, 4L}, index.findIdsContaining("ahmet", 10));
+        assertArrayEquals(new long[]{1L}, index.findIdsContaining("ılma", 10));
+        assertArrayEquals(new long[0], index.findIdsContaining("xyz", 10));
+    }
+
+    @Test
+    @DisplayName("CONTAINS - Trigram'ları tutup sırası tutmayan isimler sonuçtan elenmeli")
+    void shouldVerifyCandidatesAgainstText() {
+        // "meh", "ehm" ve "hme" Mehmet'te var ama "mehmehm" geçmiyor
+        assertArrayEquals(new long[0], index.findIdsContaining("mehmehm", 10));
+        // isim ile soyisim arasındaki sınırdan taşan eşleşme olmamalı
+        assertArrayEquals(new long[0], index.findIdsContaining("hmetyıl", 10));
+    }
+
+    @Test
+    @DisplayName("CONTAINS - 3 harften kısa aramalar taranarak cevaplanmalı, sonuç limit ile sınırlanmalı")
+    void shouldHandleShortPartsAndLimit() {
+        assertArrayEquals(new long[]{1L, 2L, 4L}, index.findIdsContaining("ah", 10));
+        assertArrayEquals(new long[]{1L, 2L}, index.findIdsContaining("ah", 2));
+        assertArrayEquals(new long[]{1L}, index.findIdsContaining("met", 1));
+        assertArrayEquals(new long[0], index.findIdsContaining("", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("CONTAINS - İ ve ı noktalı/noktasız fark etmeden düz i ile aranabilmeli")
+    void shouldFoldTurkishDottedAndDotlessI() {
+        index.onUserChanged(UserChangedEvent.created(snapshot(6L, "İbrahim", "Işıklı")));
+
+        assertArrayEquals(new long[]{6L}, index.findIdsContaining("ibr", 10));
+        assertArrayEquals(new long[]{6L}, index.findIdsContaining("İBR", 10));
+        assertArrayEquals(new long[]{6L}, index.findIdsContaining("şıkl", 10));
+        assertArrayEquals(new long[]{1L}, index.findIdsContaining("yil", 10));
+    }
+
+    @Test
+    @DisplayName("EVENT - Oluşturma, isim güncellemesi ve silme index'e yansımalı")
+    void shouldFollowUserChanges() {
+        index.onUserChanged(UserChangedEvent.created(snapshot(6L, "Samet", null)));
+        assertArrayEquals(new long[]{1L, 3L, 4L, 6L}, index.findIdsContaining("met", 10));
+
+        index.onUserChanged(UserChangedEvent.updated(snapshot(3L, "Mehmet", null), snapshot(3L, "Can", "Demir")));
+        assertArrayEquals(new long[]{1L, 4L, 6L}, index.findIdsContaining("met", 10));
+        assertArrayEquals(new long[]{3L}, index.findIdsContaining("emi", 10));
+
+        index.onUserChanged(UserChangedEvent.deleted(snapshot(1L, "Ahmet", "Yılmaz")));
+        assertArrayEquals(new long[]{4L}, index.findIdsContaining("ahmet", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("COMPACTION - Çok sayıda güncellemeden sonra sonuçlar doğru kalmalı")
+    void shouldStayCorrectAfterCompaction() {
+        for (int i = 0; i < 3000; i++) {
+            long id = 100 + i % 10;
+            index.onUserChanged(UserChangedEvent.updated(snapshot(id, "eski" + (i - 1), null), snapshot(id, "kullanici" + i, null)));
+        }
+
+        assertEquals(14, index.size());
+        assertArrayEquals(new long[]{109L}, index.findIdsContaining("kullanici2999", 10));
+        assertEquals(10, index.findIdsContaining("kullanici", 100).length);
+        assertArrayEquals(new long[]{1L, 3L, 4L}, index.findIdsContaining("met", 10));
+    }
+
+    @Test
+    @DisplayName("POSTING LIST - Delta/varint kodlanmış liste aynı numaraları geri vermeli ve kesişim doğru olmalı")
+    void shouldEncodeAndIntersectPostingLists() {
+        Random random = new Random(42);
+        int[] docs = IntStream.iterate(0, doc -> doc + 1 + random.nextInt(gap(random))).limit(5000).toArray();
+        TrigramPostingList list = new TrigramPostingList();
+        for (int doc : docs) {
+            list.add(doc);
+            list.add(doc);
+        }
+
+        assertArrayEquals(docs, list.decode());
+        assertTrue(list.sizeInBytes() < docs.length * Integer.BYTES);
+
+        int[] other = Arrays.stream(docs).filter(doc -> doc % 3 == 0).toArray();
+        int[] withExtra = IntStream.concat(Arrays.stream(other), IntStream.of(Integer.MAX_VALUE - 1)).toArray();
+        assertArrayEquals(other, list.intersect(withExtra, withExtra.length));
+    }
+
+    // çoğu fark küçük, arada bir çok byte'lık büyük sıçramalar
+    private static int gap(Random random) {
+        return random.nextInt(10) == 0 ? 100_000 : 50;
+    }
+
+    private UserSnapshot snapshot(Long id, String name, String surname) {
+        return new UserSnapshot(id, name, surname, null, null);
+    }
+}
@@ -0,0 +1,172 @@
+package com.oguz.tekrar.index;
+
+import com.oguz.tekrar.dto.UserSalaryDto;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSalaryIndexTest {
+
+    @InjectMocks
+    UserSalaryIndex index;
+    @Mock
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.streamSalaries()).thenReturn(Stream.of(
+                new UserSalaryDto(4L, 40000.0),
+                new UserSalaryDto(1L, 50000.0),
+                new UserSalaryDto(5L, 50000.0),
+                new UserSalaryDto(2L, 60000.0),
+                new UserSalaryDto(3L, 75000.0)));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("RANGE - Sınırlar dahil aralıktaki id'ler maaş sırasıyla dönmeli")
+    void shouldFindIdsBetweenInclusive() {
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[]{1L, 5L, 2L}, index.findIdsBetween(50000.0, 60000.0));
+        assertArrayEquals(new long[]{4L, 1L, 5L, 2L, 3L}, index.findIdsBetween(0.0, 100000.0));
+        assertEquals(0, index.findIdsBetween(60001.0, 70000.0).length);
+        assertEquals(0, index.findIdsBetween(70000.0, 10000.0).length);
+    }
+
+    @Test
+    @DisplayName("COUNT - Aralıktaki kayıt sayısı dönmeli")
+    void shouldCountBetween() {
+        assertEquals(2, index.countBetween(50000.0, 50000.0));
+        assertEquals(0, index.countBetween(80000.0, 10000.0));
+    }
+
+    @Test
+    @DisplayName("TOP - Maaşa göre azalan ilk kayıtlar ve (maas, id) çiftinden devam dönmeli")
+    void shouldFindTop() {
+        assertEquals(List.of(new UserSalaryDto(3L, 75000.0), new UserSalaryDto(2L, 60000.0), new UserSalaryDto(5L, 50000.0)),
+                index.findTop(null, null, 3));
+        assertEquals(List.of(new UserSalaryDto(1L, 50000.0), new UserSalaryDto(4L, 40000.0)), index.findTop(50000.0, 5L, 3));
+        assertTrue(index.findTop(40000.0, 4L, 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("EVENT - Oluşturma, güncelleme ve silme index'e yansımalı")
+    void shouldFollowUserChanges() {
+        index.onUserChanged(UserChangedEvent.created(snapshot(6L, 55000.0)));
+        assertArrayEquals(new long[]{1L, 5L, 6L}, index.findIdsBetween(50000.0, 55000.0));
+
+        index.onUserChanged(UserChangedEvent.updated(snapshot(6L, 55000.0), snapshot(6L, 30000.0)));
+        assertArrayEquals(new long[]{6L, 4L}, index.findIdsBetween(0.0, 45000.0));
+
+        index.onUserChanged(UserChangedEvent.deleted(snapshot(4L, 40000.0)));
+        index.onUserChanged(UserChangedEvent.updated(snapshot(3L, 75000.0), snapshot(3L, null)));
+        assertArrayEquals(new long[]{6L, 1L, 5L, 2L}, index.findIdsBetween(0.0, 100000.0));
+    }
+
+    @Test
+    @DisplayName("EVENT - Aynı kaydın tekrar eklenmesi tekrar eden kayıt oluşturmamalı")
+    void shouldIgnoreDuplicateInsert() {
+        index.onUserChanged(UserChangedEvent.created(snapshot(1L, 50000.0)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("CAPACITY - Başlangıç kapasitesinden fazla kayıtta dizi büyümeli")
+    void shouldGrowBeyondInitialCapacity() {
+        LongStream.rangeClosed(100, 3000)
+                .forEach(id -> index.onUserChanged(UserChangedEvent.created(snapshot(id, (double) id))));
+        assertEquals(2906, index.size());
+        assertEquals(2901, index.countBetween(100.0, 3000.0));
+    }
+
+    @Test
+    @DisplayName("TRANSACTION - Event'ler commit'e kadar biriktirilmeli ve birlikte uygulanmalı")
+    void shouldApplyTransactionChangesOnCommit() {
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            index.onUserChanged(UserChangedEvent.created(snapshot(6L, 55000.0)));
+            index.onUserChanged(UserChangedEvent.updated(snapshot(6L, 55000.0), snapshot(6L, 30000.0)));
+            index.onUserChanged(UserChangedEvent.deleted(snapshot(4L, 40000.0)));
+            index.onUserChanged(UserChangedEvent.created(snapshot(7L, 1000.0)));
+            index.onUserChanged(UserChangedEvent.deleted(snapshot(7L, 1000.0)));
+            index.onUserChanged(UserChangedEvent.updated(snapshot(2L, 60000.0), snapshot(2L, 60000.0)));
+            index.onUserChanged(UserChangedEvent.created(snapshot(1L, 50000.0)));
+            assertEquals(5, index.size());
+        });
+
+        assertArrayEquals(new long[]{6L, 1L, 5L, 2L, 3L}, index.findIdsBetween(0.0, 100000.0));
+    }
+
+    @Test
+    @DisplayName("TRANSACTION - Rollback olan transaction'ın event'leri index'e yansımamalı")
+    void shouldDiscardTransactionChangesOnRollback() {
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK,
+                () -> index.onUserChanged(UserChangedEvent.created(snapshot(6L, 55000.0))));
+
+        assertEquals(5, index.size());
+        assertNull(TransactionSynchronizationManager.getResource(index));
+    }
+
+    @Test
+    @DisplayName("TRANSACTION - Toplu değişiklikler tek tek uygulanmış gibi sıralı sonuç vermeli")
+    void shouldMergeBatchesLikeSortedModel() {
+        Random random = new Random(42);
+        Map<Long, Double> model = new HashMap<>(Map.of(4L, 40000.0, 1L, 50000.0, 5L, 50000.0, 2L, 60000.0, 3L, 75000.0));
+        for (int batch = 0; batch < 50; batch++) {
+            inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+                for (int i = random.nextInt(40); i >= 0; i--) {
+                    long id = 1 + random.nextInt(60);
+                    Double before = model.get(id);
+                    Double after = random.nextInt(5) == 0 ? null : (double) (random.nextInt(20) * 1000);
+                    index.onUserChanged(new UserChangedEvent(id,
+                            before == null ? null : snapshot(id, before), after == null ? null : snapshot(id, after)));
+                    if (after == null) {
+                        model.remove(id);
+                    } else {
+                        model.put(id, after);
+                    }
+                }
+            });
+
+            long[] expected = model.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .mapToLong(Map.Entry::getKey).toArray();
+            assertArrayEquals(expected, index.findIdsBetween(-1.0, Double.MAX_VALUE));
+        }
+    }
+
+    // PlatformTransactionManager'ın commit/rollback sonunda yaptığını taklit eder
+    private void inTransaction(int status, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private UserSnapshot snapshot(Long id, Double maas) {
+        return new UserSnapshot(id, "Oguz", null, maas, null);
+    }
+}
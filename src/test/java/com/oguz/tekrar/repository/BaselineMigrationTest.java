@@ -0,0 +1,85 @@
+package com.oguz.tekrar.repository;
+
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// IDENTITY döneminde ddl-auto: update ile kurulmuş ve veri içeren bir veritabanı taklit edilir, id'ler 1..LEGACY_ROWS.
+// users_seq 1'den başlayan haliyle vardır, roles_seq ve sites_seq hiç yoktur. Flyway baseline ile V1'i atlar;
+// V6 eksik sequence'ları oluşturup hepsini mevcut id'lerin ilerisine almalı, yoksa ddl-auto: validate başlangıçta
+// hata verir ya da ilk batch insert mevcut primary key'lerle çakışır
+@SpringBootTest
+@ActiveProfiles("test")
+class BaselineMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:baseline_test;DB_CLOSE_DELAY=-1";
+    private static final int LEGACY_ROWS = 120;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        createLegacySchema();
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    @DisplayName("BASELINE - Sequence'lar oluşturulmalı ve yeni kayıtlar mevcut id'lerle çakışmamalı")
+    void shouldAlignSequencesWithExistingRows() {
+        assertEquals("1", jdbcTemplate.queryForObject(
+                "select \"version\" from \"flyway_schema_history\" where \"type\" = 'BASELINE'", String.class));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < LEGACY_ROWS; i++) {
+            User user = User.builder().name("Yeni" + i).email("yeni" + i + "@mail.com").age(30).maas(1000.0).build();
+            user.getRoles().add(Role.builder().roleName("ROLE_USER").user(user).build());
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        assertEquals(2L * LEGACY_ROWS, userRepository.count());
+        assertTrue(users.stream().allMatch(user -> user.getId() > LEGACY_ROWS));
+        assertTrue(users.stream().allMatch(user -> user.getRoles().getFirst().getId() > LEGACY_ROWS));
+    }
+
+    private static void createLegacySchema() {
+        JdbcTemplate legacy = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        legacy.execute("""
+                create table users (
+                    user_id bigint generated by default as identity primary key,
+                    user_name varchar(255), user_name_search varchar(255), user_surname varchar(255),
+                    user_email varchar(255) unique, user_age integer, user_maas float(53), user_password varchar(255),
+                    created_at timestamp(6), created_by bigint, updated_at timestamp(6), updated_by bigint)""");
+        legacy.execute("""
+                create table roles (
+                    roles_id bigint generated by default as identity primary key,
+                    role_name varchar(255), user_id bigint references users (user_id),
+                    created_at timestamp(6), created_by bigint, updated_at timestamp(6), updated_by bigint)""");
+        legacy.execute("""
+                create table sites (
+                    site_id bigint generated by default as identity primary key,
+                    site_name varchar(255), port varchar(255), user_id bigint not null unique references users (user_id),
+                    created_at timestamp(6), created_by bigint, updated_at timestamp(6), updated_by bigint)""");
+        legacy.execute("create sequence users_seq start with 1 increment by 50");
+        for (int i = 1; i <= LEGACY_ROWS; i++) {
+            legacy.update("insert into users (user_name, user_email, user_age) values (?, ?, ?)", "Eski" + i, "eski" + i + "@mail.com", 40);
+            legacy.update("insert into roles (role_name, user_id) values ('ROLE_USER', ?)", i);
+        }
+    }
+}
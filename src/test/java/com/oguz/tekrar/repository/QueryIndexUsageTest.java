@@ -0,0 +1,141 @@
+package com.oguz.tekrar.repository;
+
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.User;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// repository metodunun Hibernate'in ürettiği SQL'i yakalanır ve aynı parametrelerle EXPLAIN edilir.
+// şema Flyway migration'larından geldiği için db/migration'daki index'ler doğrulanmış olur.
+// H2'nin planı "/* PUBLIC.IDX_...: ... */" şeklinde kullanılan index'i yazar
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.oguz.tekrar.repository.QueryIndexUsageTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+class QueryIndexUsageTest {
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TestEntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            User user = User.builder().name(i % 5 == 0 ? null : "User" + i).age(20 + i).maas(1000.0 * i).build();
+            user.getRoles().add(Role.builder().roleName("ROLE_USER").user(user).build());
+            userId = entityManager.persist(user).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        CapturingStatementInspector.SQL.clear();
+    }
+
+    @Test
+    @DisplayName("INDEX - countUsers yaş aralığını idx_users_age ile okumalı")
+    void countUsersShouldUseAgeIndex() {
+        userRepository.countUsers(30);
+
+        assertPlanUsesIndex("idx_users_age", 30);
+    }
+
+    @Test
+    @DisplayName("INDEX - findMaasAraligi maaş aralığını idx_users_maas_id ile okumalı")
+    void findMaasAraligiShouldUseSalaryIndex() {
+        userRepository.findMaasAraligi(2000.0, 5000.0);
+
+        assertPlanUsesIndex("idx_users_maas_id", 2000.0, 5000.0);
+    }
+
+    @Test
+    @DisplayName("INDEX - maasaGoreAzalanSiraylaGetir sıralamayı idx_users_maas_id ile yapmalı")
+    void maasaGoreAzalanSiraylaGetirShouldUseSalaryIndex() {
+        userRepository.maasaGoreAzalanSiraylaGetir();
+
+        assertPlanUsesIndex("idx_users_maas_id");
+    }
+
+    @Test
+    @DisplayName("INDEX - findUserByNameIsNull boş isimleri idx_users_name ile bulmalı")
+    void findUserByNameIsNullShouldUseNameIndex() {
+        userRepository.findUserByNameIsNull();
+
+        assertPlanUsesIndex("idx_users_name");
+    }
+
+    // H2 foreign key kolonlarına kendisi de index açtığı için plan o index'i gösterebilir,
+    // PostgreSQL'de açmadığından migration'daki index'in varlığı ayrıca kontrol edilir
+    @Test
+    @DisplayName("INDEX - Kullanıcının rolleri roles.user_id index'i ile yüklenmeli")
+    void roleLookupShouldUseRoleUserIndex() {
+        User user = userRepository.findById(userId).orElseThrow();
+        CapturingStatementInspector.SQL.clear();
+
+        assertEquals(1, user.getRoles().size());
+
+        String plan = explain(firstSelect(), userId);
+        assertTrue(plan.contains("USER_ID = ?1 */"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+        assertEquals(1L, entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_ROLES_USER_ID'")
+                .getSingleResult());
+    }
+
+    private void assertPlanUsesIndex(String index, Object... parameters) {
+        String plan = explain(firstSelect(), parameters);
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(index.toUpperCase(Locale.ROOT)),
+                () -> index + " kullanılmadı:\n" + plan);
+    }
+
+    private static String firstSelect() {
+        return CapturingStatementInspector.SQL.stream()
+                .filter(statement -> statement.toLowerCase(Locale.ROOT).startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("SELECT çalışmadı: " + CapturingStatementInspector.SQL));
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
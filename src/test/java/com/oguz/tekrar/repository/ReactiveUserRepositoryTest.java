@@ -0,0 +1,139 @@
+package com.oguz.tekrar.repository;
+
+import com.oguz.tekrar.dto.RoleDto;
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// veriler JPA ile yazılıp R2DBC ile okunur; iki taraf aynı bellek içi veritabanına bağlanır.
+// diğer testlerin verisi karışmasın diye ayrı bir veritabanı kullanılır
+@SpringBootTest(properties = {
+        "app.reactive.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:reactive_test;DB_CLOSE_DELAY=-1",
+        "app.reactive.r2dbc.url=r2dbc:h2:mem:///reactive_test?options=DB_CLOSE_DELAY=-1",
+        "app.reactive.r2dbc.pool.initial-size=1",
+        "app.reactive.r2dbc.pool.max-size=" + ReactiveUserRepositoryTest.POOL_SIZE,
+        "app.reactive.r2dbc.pool.max-acquire-time=PT2S"
+})
+@ActiveProfiles("test")
+class ReactiveUserRepositoryTest {
+
+    // sonuç fetch size'ın (256) birkaç katı olsun, okuma bitmeden sonraki parçalar istensin diye
+    private static final int USER_COUNT = 1000;
+    // tek connection'lık pool: istek başına ikinci connection gerekirse okuma max-acquire-time sonunda hata alır
+    static final int POOL_SIZE = 1;
+
+    @Autowired
+    ReactiveUserRepository reactiveUserRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.count() > 0) {
+            return;
+        }
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = User.builder().name(i == 0 ? null : "Reaktif" + i).email("reaktif" + i + "@mail.com")
+                    .age(20 + i % 40).maas(1000.0 * (USER_COUNT - i)).build();
+            user.getRoles().add(Role.builder().roleName("ROLE_USER").user(user).build());
+            if (i % 2 == 0) {
+                user.getRoles().add(Role.builder().roleName("ROLE_ADMIN").user(user).build());
+            }
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+    }
+
+    @Test
+    @DisplayName("FIND ALL - Tüm kullanıcılar kendi rolleriyle okunmalı")
+    void shouldReadAllUsersWithRoles() {
+        List<UserResponse> users = reactiveUserRepository.findAll().collectList().block();
+
+        assertNotNull(users);
+        assertEquals(USER_COUNT, users.size());
+        for (UserResponse user : users) {
+            List<String> roleNames = user.getRoles().stream().map(RoleDto::getRoleName).toList();
+            String email = user.getEmail();
+            int index = Integer.parseInt(email.substring("reaktif".length(), email.indexOf('@')));
+            assertEquals(index % 2 == 0 ? List.of("ROLE_USER", "ROLE_ADMIN") : List.of("ROLE_USER"), roleNames, email);
+        }
+    }
+
+    @Test
+    @DisplayName("FIND BY ID - Var olan kullanıcı dönmeli, olmayan için boş dönmeli")
+    void shouldFindById() {
+        User saved = userRepository.findAll().getFirst();
+
+        UserResponse user = reactiveUserRepository.findById(saved.getId()).block();
+
+        assertNotNull(user);
+        assertEquals(saved.getEmail(), user.getEmail());
+        assertEquals(saved.getMaas(), user.getMaas());
+        assertNotNull(user.getCreatedAt());
+        assertNull(reactiveUserRepository.findById(-1L).block());
+    }
+
+    @Test
+    @DisplayName("SEARCH - İsmi küçük harf prefix ile başlayan kullanıcılar dönmeli")
+    void shouldSearchByPrefix() {
+        List<UserResponse> users = reactiveUserRepository.searchByPrefix("reaktif29").collectList().block();
+
+        assertNotNull(users);
+        assertEquals(List.of("Reaktif29", "Reaktif290", "Reaktif291", "Reaktif292", "Reaktif293", "Reaktif294",
+                        "Reaktif295", "Reaktif296", "Reaktif297", "Reaktif298", "Reaktif299"),
+                users.stream().map(UserResponse::getName).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("MAAS ARALIGI - Aralıktaki kullanıcılar maaşa göre artan sırada dönmeli")
+    void shouldFindSalaryRangeOrderedBySalary() {
+        List<UserResponse> users = reactiveUserRepository.findMaasAraligi(5000.0, 9000.0).collectList().block();
+
+        assertNotNull(users);
+        assertEquals(IntStream.rangeClosed(5, 9).mapToObj(i -> 1000.0 * i).toList(),
+                users.stream().map(UserResponse::getMaas).toList());
+    }
+
+    @Test
+    @DisplayName("POOL - Pool boyutundan fazla eşzamanlı geniş okuma istek başına tek connection ile tamamlanmalı")
+    void shouldServeConcurrentWideReadsWithOneConnectionEach() {
+        int callers = POOL_SIZE * 4;
+
+        List<Long> counts = Flux.range(0, callers)
+                .flatMap(i -> i % 2 == 0
+                        ? reactiveUserRepository.findAll().count()
+                        : reactiveUserRepository.findMaasAraligi(0.0, Double.MAX_VALUE).count(), callers)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertNotNull(counts);
+        assertEquals(Collections.nCopies(callers, (long) USER_COUNT), counts);
+    }
+
+    @Test
+    @DisplayName("BACKPRESSURE - İlk kullanıcılar tüm sonuç okunmadan alınabilmeli")
+    void shouldTakeFirstUsersWithoutReadingEverything() {
+        List<UserResponse> users = reactiveUserRepository.findAll().take(3).collectList().block();
+
+        assertNotNull(users);
+        assertEquals(3, users.size());
+        users.forEach(user -> assertFalse(user.getRoles().isEmpty()));
+    }
+}
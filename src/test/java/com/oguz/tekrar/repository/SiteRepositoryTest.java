@@ -0,0 +1,86 @@
+package com.oguz.tekrar.repository;
+
+import com.oguz.tekrar.dto.SiteRowDto;
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.Site;
+import com.oguz.tekrar.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SiteRepositoryTest {
+
+    @Autowired
+    private SiteRepository siteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Ahmet");
+        owner.setEmail("ahmet@mail.com");
+        for (String roleName : List.of("ROLE_USER", "ROLE_ADMIN")) {
+            Role role = new Role();
+            role.setRoleName(roleName);
+            role.setUser(owner);
+            owner.getRoles().add(role);
+        }
+        entityManager.persist(owner);
+
+        User ownerWithoutRole = new User();
+        ownerWithoutRole.setName("Mehmet");
+        entityManager.persist(ownerWithoutRole);
+
+        Site google = new Site();
+        google.setName("Google");
+        google.setPort("443");
+        google.setUser(owner);
+        entityManager.persist(google);
+
+        Site github = new Site();
+        github.setName("Github");
+        github.setPort("80");
+        github.setUser(ownerWithoutRole);
+        entityManager.persist(github);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Projection: Site, sahibi ve rolleri tek sorguda flat satırlar olarak gelmeli")
+    void findAllSiteRows_ShouldReturnFlatRowsInSingleStatement() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<SiteRowDto> rows = siteRepository.findAllSiteRows();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(rows).hasSize(3);
+        assertThat(rows).filteredOn(row -> row.siteName().equals("Google"))
+                .extracting(SiteRowDto::roleName)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(rows).filteredOn(row -> row.siteName().equals("Github"))
+                .singleElement()
+                .satisfies(row -> {
+                    assertThat(row.userName()).isEqualTo("Mehmet");
+                    assertThat(row.roleId()).isNull();
+                });
+    }
+}
@@ -1,18 +1,33 @@
 package com.oguz.tekrar.repository;
 
+import com.oguz.tekrar.dto.AgeCountDto;
+import com.oguz.tekrar.dto.UserFullNameDto;
 import com.oguz.tekrar.dto.UserNameResponse;
+import com.oguz.tekrar.dto.UserSalaryDto;
 import com.oguz.tekrar.dto.UserSearchDto;
+import com.oguz.tekrar.dto.UserSuggestion;
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.Site;
 import com.oguz.tekrar.entity.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,6 +38,9 @@ public class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         User user1 = new User();
@@ -59,6 +77,36 @@ public class UserRepositoryTest {
         assertThat(users).hasSize(4);
     }
 
+    @Test
+    @DisplayName("Keyset: Verilen id'den sonraki kullanıcıları id sırasıyla ve limit kadar getirmeli")
+    void findUsersAfter_ShouldReturnNextPageOrderedById() {
+        List<User> firstPage = userRepository.findUsersAfter(0L, Limit.of(3));
+        assertThat(firstPage).hasSize(3);
+        assertThat(firstPage).extracting(User::getId).isSorted();
+
+        List<User> secondPage = userRepository.findUsersAfter(firstPage.get(2).getId(), Limit.of(3));
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Stream: Tüm kullanıcıları id sırasıyla stream etmeli")
+    void streamAllUsers_ShouldStreamAllUsersOrderedById() {
+        try (Stream<User> users = userRepository.streamAllUsers()) {
+            List<Long> ids = users.map(User::getId).toList();
+            assertThat(ids).hasSize(4).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("Projection: İsmi olan kullanıcıları id ve isim olarak stream etmeli")
+    void streamUserSuggestions_ShouldSkipUsersWithoutName() {
+        try (Stream<UserSuggestion> suggestions = userRepository.streamUserSuggestions()) {
+            assertThat(suggestions.map(UserSuggestion::name).toList())
+                    .containsExactlyInAnyOrder("Ahmet", "Mehmet", "Ayşe");
+        }
+    }
+
     @Test
     @DisplayName("Projection: Sadece kullanıcı isimlerini DTO olarak getirmeli")
     void findUserNames_ShouldReturnUserNameResponseList() {
@@ -76,6 +124,109 @@ public class UserRepositoryTest {
         assertThat(result.get(0).getName()).isEqualTo("Ahmet");
     }
 
+    @Test
+    @DisplayName("Search: İçinde geçen parça ile isimde arama yapmalı, sonuç limit kadar olmalı")
+    void searchByContains_ShouldReturnUsersContainingPart() {
+        List<User> result = userRepository.searchByContains("met", Limit.of(10));
+        assertThat(result).extracting(User::getName).containsExactly("Ahmet", "Mehmet");
+
+        assertThat(userRepository.searchByContains("met", Limit.of(1))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Projection: Kullanıcıları id, isim ve soyisim olarak id sırasıyla stream etmeli")
+    void streamUserFullNames_ShouldStreamAllUsersOrderedById() {
+        try (Stream<UserFullNameDto> rows = userRepository.streamUserFullNames()) {
+            assertThat(rows.map(UserFullNameDto::id).toList()).hasSize(4).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("Search: İsim güncellendiğinde normalize arama kolonu da güncellenmeli")
+    void nameSearch_ShouldFollowNameOnUpdate() {
+        User user = userRepository.searchByPrefix("ah").get(0);
+        user.setName("HASAN");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(userRepository.searchByPrefix("ah")).isEmpty();
+        assertThat(userRepository.searchByPrefix("has"))
+                .singleElement()
+                .satisfies(found -> assertThat(found.getNameSearch()).isEqualTo("hasan"));
+    }
+
+    @Test
+    @DisplayName("Migration: V3 arama kolonu boş kalmış eski satırları doldurmalı")
+    void backfillMigration_ShouldMakeOldRowsSearchable() {
+        User user = userRepository.searchByPrefix("ah").get(0);
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE users SET user_name_search = NULL WHERE user_id = :id")
+                .setParameter("id", user.getId())
+                .executeUpdate();
+        entityManager.clear();
+        assertThat(userRepository.searchByPrefix("ah")).isEmpty();
+
+        entityManager.getEntityManager().unwrap(Session.class).doWork(connection -> ScriptUtils.executeSqlScript(
+                connection, new ClassPathResource("db/migration/V3__backfill_user_name_search.sql")));
+
+        assertThat(userRepository.searchByPrefix("ah")).extracting(User::getName).containsExactly("Ahmet");
+        // ismi olmayan kullanıcı boş kalmalı
+        assertThat(userRepository.findUserByNameIsNull()).singleElement()
+                .satisfies(found -> assertThat(found.getNameSearch()).isNull());
+    }
+
+    @Test
+    @DisplayName("Search: İ ve ı içeren isimler noktalı/noktasız fark etmeden prefix ve içinde geçen aramada bulunmalı")
+    void nameSearch_ShouldFoldTurkishDottedAndDotlessI() {
+        User ibrahim = User.builder().name("İbrahim").surname("Işıklı").age(40).build();
+        User isik = User.builder().name("IŞIK").age(41).build();
+        entityManager.persist(ibrahim);
+        entityManager.persist(isik);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(userRepository.findById(ibrahim.getId())).get()
+                .satisfies(found -> assertThat(found.getNameSearch()).isEqualTo("ibrahim"));
+        assertThat(userRepository.searchByPrefix(User.normalizeName("ib"))).extracting(User::getName).containsExactly("İbrahim");
+        assertThat(userRepository.searchByPrefix(User.normalizeName("İB"))).extracting(User::getName).containsExactly("İbrahim");
+        assertThat(userRepository.searchByPrefix(User.normalizeName("ış"))).extracting(User::getName).containsExactly("IŞIK");
+        assertThat(userRepository.searchByPrefix(User.normalizeName("iş"))).extracting(User::getName).containsExactly("IŞIK");
+        // soyisim veritabanında translate ile aynı kurala katlanır
+        assertThat(userRepository.searchByContains(User.normalizeName("ŞIKL"), Limit.of(10)))
+                .extracting(User::getName).containsExactly("İbrahim");
+    }
+
+    @Test
+    @DisplayName("Migration: V5 arama kolonunu Java ile aynı kurala göre yeniden hesaplamalı")
+    void foldMigration_ShouldMatchNormalizeName() {
+        User ibrahim = User.builder().name("İbrahim").age(40).build();
+        User isik = User.builder().name("IŞIK Çağrı").age(41).build();
+        entityManager.persist(ibrahim);
+        entityManager.persist(isik);
+        entityManager.flush();
+        // eski kuralla (LOWER / Locale.ROOT) yazılmış değerler
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE users SET user_name_search = LOWER(user_name) WHERE user_name IS NOT NULL")
+                .executeUpdate();
+        entityManager.clear();
+
+        entityManager.getEntityManager().unwrap(Session.class).doWork(connection -> ScriptUtils.executeSqlScript(
+                connection, new ClassPathResource("db/migration/V5__fold_user_name_search.sql")));
+
+        assertThat(userRepository.findAll()).allSatisfy(found ->
+                assertThat(found.getNameSearch()).isEqualTo(User.normalizeName(found.getName())));
+        assertThat(userRepository.findById(isik.getId())).get()
+                .satisfies(found -> assertThat(found.getNameSearch()).isEqualTo("işik çağri"));
+    }
+
+    @Test
+    @DisplayName("Suggest: Normalize prefix ile öneriler isme göre sıralı ve limit kadar dönmeli")
+    void findSuggestions_ShouldReturnSortedSuggestions() {
+        assertThat(userRepository.findSuggestions("a", Limit.of(10)))
+                .extracting(UserSuggestion::name).containsExactly("Ahmet", "Ayşe");
+        assertThat(userRepository.findSuggestions("", Limit.of(2))).hasSize(2);
+    }
+
     @Test
     @DisplayName("Search: İsim prefix ve yaş kriterine göre DTO dönmeli")
     void searchByNameAndAge_ShouldReturnUserSearchDto() {
@@ -93,6 +244,28 @@ public class UserRepositoryTest {
         assertThat(result.get(result.size() - 1).getMaas()).isEqualTo(40000.0);
     }
 
+    @Test
+    @DisplayName("Top-K: Maaşa göre azalan ilk limit kadar kullanıcıyı getirmeli")
+    void findTopBySalary_ShouldReturnFirstPage() {
+        List<User> result = userRepository.findTopBySalary(Limit.of(2));
+        assertThat(result).extracting(User::getMaas).containsExactly(75000.0, 60000.0);
+    }
+
+    @Test
+    @DisplayName("Top-K: Son görülen (maas, id) çiftinden sonrakilerle devam etmeli")
+    void findTopBySalaryAfter_ShouldSeekFromLastRow() {
+        User tie = new User();
+        tie.setName("Esra");
+        tie.setMaas(60000.0);
+        userRepository.save(tie);
+        User last = userRepository.findTopBySalary(Limit.of(2)).get(1);
+
+        List<User> result = userRepository.findTopBySalaryAfter(last.getMaas(), last.getId(), Limit.of(10));
+
+        assertThat(result).extracting(User::getMaas).containsExactly(60000.0, 50000.0, 40000.0);
+        assertThat(result.get(0).getId()).isLessThan(last.getId());
+    }
+
     @Test
     @DisplayName("IN Clause: Liste içindeki isimlere göre getirmeli")
     void findUsers_ShouldReturnUsersInList() {
@@ -117,6 +290,30 @@ public class UserRepositoryTest {
         assertThat(result).extracting(User::getName).contains("Ahmet", "Mehmet");
     }
 
+    @Test
+    @DisplayName("Count Between: Maaş aralığındaki kullanıcıları saymalı")
+    void countMaasAraligi_ShouldCountUsersInSalaryRange() {
+        assertThat(userRepository.countMaasAraligi(45000.0, 65000.0)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("IN Clause: Id listesine göre kullanıcıları getirmeli")
+    void findAllWithRolesByIdIn_ShouldReturnUsersWithGivenIds() {
+        List<Long> ids = userRepository.findUsers(List.of("Ahmet", "Ayşe")).stream().map(User::getId).toList();
+        assertThat(userRepository.findAllWithRolesByIdIn(ids))
+                .extracting(User::getName)
+                .containsExactlyInAnyOrder("Ahmet", "Ayşe");
+    }
+
+    @Test
+    @DisplayName("Stream: Maaşları (maas, id) sırasıyla stream etmeli")
+    void streamSalaries_ShouldStreamOrderedBySalary() {
+        try (Stream<UserSalaryDto> salaries = userRepository.streamSalaries()) {
+            assertThat(salaries.map(UserSalaryDto::maas).toList())
+                    .containsExactly(40000.0, 50000.0, 60000.0, 75000.0);
+        }
+    }
+
     @Test
     @DisplayName("Is Null: İsmi null olan kullanıcıları getirmeli")
     void findUserByNameIsNull_ShouldReturnUsersWithNullName() {
@@ -132,4 +329,88 @@ public class UserRepositoryTest {
         assertThat(sum).isEqualTo(225000.0);
     }
 
+    @Test
+    @DisplayName("Count: Maaşı olan kullanıcıları saymalı")
+    void countMaas_ShouldCountNonNullSalaries() {
+        assertThat(userRepository.countMaas()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Group By: Yaşlara göre kullanıcı sayılarını getirmeli")
+    void countByAgeGroups_ShouldReturnAgeHistogram() {
+        assertThat(userRepository.countByAgeGroups())
+                .containsExactlyInAnyOrder(
+                        new AgeCountDto(25, 1L), new AgeCountDto(28, 1L),
+                        new AgeCountDto(30, 1L), new AgeCountDto(40, 1L));
+    }
+
+    @Test
+    @DisplayName("N+1: findAll roller ve site ile birlikte tek sorguda gelmeli")
+    void findAll_ShouldLoadRolesAndSiteInSingleStatement() {
+        givenUsersWithRolesAndSites();
+        assertThat(countStatements(userRepository::findAll)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("N+1: Custom findAll roller ve site ile birlikte tek sorguda gelmeli")
+    void tumKullanicilariGetir_ShouldLoadRolesAndSiteInSingleStatement() {
+        givenUsersWithRolesAndSites();
+        assertThat(countStatements(userRepository::tumKullanicilariGetir)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("N+1: Filtreli ve sıralı listeler kullanıcı sayısından bağımsız tek sorguda gelmeli")
+    void filteredQueries_ShouldLoadRolesAndSiteInSingleStatement() {
+        givenUsersWithRolesAndSites();
+        assertThat(countStatements(() -> userRepository.searchByPrefix("a"))).isEqualTo(1);
+        assertThat(countStatements(userRepository::maasaGoreAzalanSiraylaGetir)).isEqualTo(1);
+        assertThat(countStatements(() -> userRepository.findUsers(List.of("Ahmet", "Mehmet")))).isEqualTo(1);
+        assertThat(countStatements(() -> userRepository.findMaasAraligi(0.0, 100000.0))).isEqualTo(1);
+        assertThat(countStatements(userRepository::findUserByNameIsNull)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("N+1: Cursor sayfası site join'i ve rollerin batch yüklemesiyle iki sorguda gelmeli")
+    void findUsersAfter_ShouldBatchLoadRoles() {
+        givenUsersWithRolesAndSites();
+        assertThat(countStatements(() -> userRepository.findUsersAfter(0L, Limit.of(10)))).isEqualTo(2);
+    }
+
+    // her kullanıcıya iki rol ve bir site ekleyip persistence context'i temizler
+    private void givenUsersWithRolesAndSites() {
+        List<User> users = userRepository.findAll();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            for (String roleName : List.of("ROLE_USER", "ROLE_ADMIN")) {
+                Role role = new Role();
+                role.setRoleName(roleName);
+                role.setUser(user);
+                user.getRoles().add(role);
+            }
+            Site site = new Site();
+            site.setName("site-" + i);
+            site.setUser(user);
+            user.setSite(site);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // sorguyu çalıştırıp mapper'ın dokunduğu roles ve site alanlarını da yükler, atılan SQL sayısını döner
+    private long countStatements(Supplier<List<User>> query) {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<User> users = query.get();
+        users.forEach(user -> {
+            user.getRoles().forEach(Role::getRoleName);
+            if (user.getSite() != null) {
+                user.getSite().getName();
+            }
+        });
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+
 }
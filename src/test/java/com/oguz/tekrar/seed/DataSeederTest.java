@@ -0,0 +1,59 @@
+package com.oguz.tekrar.seed;
+
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.index.UserSalaryIndex;
+import com.oguz.tekrar.repository.RoleRepository;
+import com.oguz.tekrar.repository.SiteRepository;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// H2'de COPY olmadığı için batch INSERT yolu çalışır. parça boyutu kullanıcı sayısını bölmeyecek şekilde seçildi
+@ActiveProfiles({"test", "seed"})
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seedtest;DB_CLOSE_DELAY=-1",
+        "app.seed.users=1234",
+        "app.seed.chunk-size=500",
+        "app.seed.jdbc-batch-size=100",
+        "app.seed.exit-on-finish=false"
+})
+class DataSeederTest {
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    RoleRepository roleRepository;
+    @Autowired
+    SiteRepository siteRepository;
+    @Autowired
+    UserSalaryIndex userSalaryIndex;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("SEED - Başlangıçta kullanıcılar, roller ve siteler yazılmalı, sonrasında JPA ile eklenen kayıt çakışmamalı")
+    void shouldSeedOnStartup() {
+        assertEquals(1234, userRepository.count());
+        assertTrue(roleRepository.count() >= 1234);
+        assertTrue(siteRepository.count() > 0 && siteRepository.count() < 1234);
+
+        // seed yazıcısı da User.normalizeName kullanır, sonuç V5 migration'ının SQL kuralıyla aynı olmalı
+        Long missingSearch = jdbcTemplate.queryForObject("select count(*) from users where user_name is not null "
+                + "and user_name_search <> lower(translate(user_name, 'İIıŞĞÜÖÇ' || chr(775), 'iiişğüöç'))", Long.class);
+        assertEquals(0L, missingSearch);
+
+        // index'ler ApplicationReadyEvent'te yüklenir, seed runner'dan sonra
+        Long withSalary = jdbcTemplate.queryForObject("select count(*) from users where user_maas is not null", Long.class);
+        assertEquals(withSalary, userSalaryIndex.countBetween(0, Double.MAX_VALUE));
+
+        User saved = userRepository.save(User.builder().name("Yeni").email("yeni-seed@mail.com").age(30).maas(1000.0).build());
+        Long maxSeededId = jdbcTemplate.queryForObject("select max(user_id) from users where user_id <> ?", Long.class, saved.getId());
+        assertTrue(saved.getId() > maxSeededId);
+    }
+}
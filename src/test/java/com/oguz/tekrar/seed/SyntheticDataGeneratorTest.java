@@ -0,0 +1,68 @@
+package com.oguz.tekrar.seed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataGeneratorTest {
+
+    @Test
+    @DisplayName("DETERMINISM - Aynı seed aynı veriyi üretmeli")
+    void sameSeedShouldProduceSameData() {
+        SeedBatch first = new SyntheticDataGenerator(7).generate(500, 1, 1, 1);
+        SeedBatch second = new SyntheticDataGenerator(7).generate(500, 1, 1, 1);
+        SeedBatch other = new SyntheticDataGenerator(8).generate(500, 1, 1, 1);
+
+        assertEquals(first, second);
+        assertNotEquals(first.users(), other.users());
+    }
+
+    @Test
+    @DisplayName("IDS - Id'ler verilen değerden ardışık devam etmeli, her kullanıcının ROLE_USER'ı ve en fazla bir sitesi olmalı")
+    void idsShouldBeContiguous() {
+        SeedBatch batch = new SyntheticDataGenerator(42).generate(1000, 101, 201, 301);
+
+        for (int i = 0; i < batch.users().size(); i++) {
+            assertEquals(101 + i, batch.users().get(i).id());
+        }
+        for (int i = 0; i < batch.roles().size(); i++) {
+            assertEquals(201 + i, batch.roles().get(i).id());
+        }
+        for (int i = 0; i < batch.sites().size(); i++) {
+            assertEquals(301 + i, batch.sites().get(i).id());
+        }
+        Set<Long> usersWithDefaultRole = batch.roles().stream()
+                .filter(role -> SyntheticDataGenerator.DEFAULT_ROLE.equals(role.roleName()))
+                .map(SeedBatch.RoleRow::userId)
+                .collect(Collectors.toSet());
+        assertEquals(1000, usersWithDefaultRole.size());
+        assertEquals(batch.sites().size(), batch.sites().stream().map(SeedBatch.SiteRow::userId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("DISTRIBUTION - Yaş ve maaş makul aralıkta olmalı, email'ler tekil olmalı")
+    void valuesShouldBeRealistic() {
+        SeedBatch batch = new SyntheticDataGenerator(42).generate(10_000, 1, 1, 1);
+
+        assertTrue(batch.users().stream().allMatch(user -> user.age() >= 18 && user.age() <= 70));
+        double averageAge = batch.users().stream().mapToInt(SeedBatch.UserRow::age).average().orElseThrow();
+        assertEquals(36, averageAge, 1.5);
+
+        double[] salaries = batch.users().stream().map(SeedBatch.UserRow::maas).filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue).sorted().toArray();
+        assertTrue(salaries.length > 9_700 && salaries.length < 10_000, "bir kısım maaş boş olmalı");
+        double median = salaries[salaries.length / 2];
+        assertTrue(median > 25_000 && median < 45_000, "medyan maaş: " + median);
+        assertTrue(salaries[0] > 0);
+
+        Set<String> emails = new HashSet<>();
+        batch.users().forEach(user -> assertTrue(emails.add(user.email()), user.email()));
+        assertTrue(batch.users().stream().allMatch(user -> user.email().matches("[a-z.]+\\d+@example\\.com")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.oguz.tekrar.service;
+
+import com.oguz.tekrar.constant.CacheNames;
+import com.oguz.tekrar.dto.SiteRequest;
+import com.oguz.tekrar.dto.UserNameResponse;
+import com.oguz.tekrar.dto.UserRequest;
+import com.oguz.tekrar.entity.Role;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// second-level cache transaction'lar arası çalıştığı için her okuma ayrı bir transaction'da yapılır
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final String USER_ROLES = User.class.getName() + ".roles";
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    SiteService siteService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("L2 CACHE - Kullanıcının rolleri ikinci okumada cache'ten gelmeli")
+    void shouldServeRolesFromCache() {
+        Long id = userService.createUser(userRequest("Oguz")).getId();
+        statistics.clear();
+
+        assertEquals(List.of("ROLE_USER"), roleNames(id));
+        long statementsOnFirstRead = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        assertEquals(List.of("ROLE_USER"), roleNames(id));
+
+        assertEquals(1, statistics.getCollectionStatistics(USER_ROLES).getCacheHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheNames.ROLE_REGION).getHitCount());
+        assertTrue(statistics.getPrepareStatementCount() < statementsOnFirstRead);
+    }
+
+    @Test
+    @DisplayName("L2 CACHE - UserService üzerinden silinen rol cache'ten de düşmeli")
+    void shouldKeepRolesConsistentAfterDelete() {
+        Long id = userService.createUser(userRequest("Oguz")).getId();
+        Long roleId = transactionTemplate.execute(status ->
+                userRepository.findById(id).orElseThrow().getRoles().getFirst().getId());
+        roleNames(id);
+
+        userService.deleteRole(roleId);
+
+        assertEquals(List.of(), roleNames(id));
+    }
+
+    @Test
+    @DisplayName("L2 CACHE - Site id ile ikinci okumada cache'ten gelmeli, güncelleme cache'e yansımalı")
+    void shouldServeSiteFromCache() {
+        Long userId = userService.createUser(userRequest("Oguz")).getId();
+        Long siteId = siteService.create(new SiteRequest("site", "8080", userId)).getId();
+        siteService.getSiteById(siteId);
+        statistics.clear();
+
+        assertEquals("8080", siteService.getSiteById(siteId).getPort());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(CacheNames.SITE_REGION).getHitCount());
+
+        siteService.updateSite(SiteRequest.builder().port("9090").build(), siteId);
+        assertEquals("9090", siteService.getSiteById(siteId).getPort());
+    }
+
+    @Test
+    @DisplayName("QUERY CACHE - Projection sorgusu tekrarında cache'ten gelmeli, yazmadan sonra geçersiz olmalı")
+    void shouldCacheProjectionQueryUntilWrite() {
+        userService.createUser(userRequest("Oguz"));
+        userService.getUserNames();
+        statistics.clear();
+
+        userService.getUserNames();
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        userService.createUser(userRequest("Yeni"));
+        statistics.clear();
+
+        List<UserNameResponse> names = userService.getUserNames();
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertTrue(names.stream().anyMatch(name -> "Yeni".equals(name.name())));
+    }
+
+    @Test
+    @DisplayName("METRICS - Region'lar cache.* metrikleri altında görünmeli")
+    void shouldExposeRegionMetrics() {
+        for (String region : List.of(CacheNames.ROLE_REGION, CacheNames.SITE_REGION,
+                CacheNames.USER_ROLES_REGION, CacheNames.PROJECTION_QUERY_REGION)) {
+            assertNotNull(meterRegistry.find("cache.puts").tag("cache", region).functionCounter(), region);
+        }
+    }
+
+    private List<String> roleNames(Long userId) {
+        return transactionTemplate.execute(status -> userRepository.findById(userId).orElseThrow()
+                .getRoles().stream().map(Role::getRoleName).toList());
+    }
+
+    private static UserRequest userRequest(String name) {
+        return UserRequest.builder()
+                .name(name)
+                .email(UUID.randomUUID() + "@mail.com")
+                .age(30)
+                .maas(1000.0)
+                .build();
+    }
+}
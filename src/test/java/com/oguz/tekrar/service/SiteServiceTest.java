@@ -2,9 +2,11 @@ package com.oguz.tekrar.service;
 
 import com.oguz.tekrar.dto.SiteRequest;
 import com.oguz.tekrar.dto.SiteResponse;
+import com.oguz.tekrar.dto.SiteRowDto;
 import com.oguz.tekrar.entity.Site;
 import com.oguz.tekrar.entity.User;
 import com.oguz.tekrar.mapper.SiteMapper;
+import com.oguz.tekrar.mapper.SiteMapperImpl;
 import com.oguz.tekrar.repository.SiteRepository;
 import com.oguz.tekrar.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -39,18 +41,40 @@ class SiteServiceTest {
 
     private static final Long SITE_ID = 1L;
     private static final Long USER_ID = 5L;
+    // satır -> SiteResponse dönüşümü için üretilen gerçek mapper kullanılır
+    private static final SiteMapper SITE_MAPPER = new SiteMapperImpl();
 
     @Test
-    @DisplayName("GET ALL - Tüm siteleri getirmeli")
+    @DisplayName("GET ALL - Projection satırlarından siteler rolleriyle birlikte oluşturulmalı")
     void shouldReturnAllSites() {
-        List<Site> siteList = List.of(getSite());
-        List<SiteResponse> expectedResponse = List.of(getSiteResponse());
-        when(siteRepository.findAll()).thenReturn(siteList);
-        when(mapper.toSiteResponseList(siteList)).thenReturn(expectedResponse);
+        List<SiteRowDto> rows = List.of(
+                getSiteRow(1L, "ROLE_USER"),
+                getSiteRow(2L, "ROLE_ADMIN"));
+        when(siteRepository.findAllSiteRows()).thenReturn(rows);
+        stubSiteRowMapping();
         List<SiteResponse> result = siteService.getAll();
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(siteRepository).findAll();
+        assertEquals(SITE_ID, result.get(0).getId());
+        assertEquals("Google", result.get(0).getName());
+        assertEquals("8080", result.get(0).getPort());
+        assertEquals(USER_ID, result.get(0).getUser().getId());
+        assertEquals("Site Owner", result.get(0).getUser().getName());
+        assertEquals("owner@mail.com", result.get(0).getUser().getEmail());
+        assertEquals(2, result.get(0).getUser().getRoles().size());
+        verify(mapper).toSiteResponse(rows.get(0));
+        verify(siteRepository).findAllSiteRows();
+        verify(siteRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("GET ALL - Rolü olmayan kullanıcının sitesi boş rol listesiyle dönmeli")
+    void shouldReturnSiteWithEmptyRoles_WhenUserHasNoRole() {
+        when(siteRepository.findAllSiteRows()).thenReturn(List.of(getSiteRow(null, null)));
+        stubSiteRowMapping();
+        List<SiteResponse> result = siteService.getAll();
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getUser().getRoles().isEmpty());
     }
 
     @Test
@@ -163,6 +187,17 @@ class SiteServiceTest {
                 .build();
     }
 
+    private void stubSiteRowMapping() {
+        when(mapper.toSiteResponse(any(SiteRowDto.class)))
+                .thenAnswer(invocation -> SITE_MAPPER.toSiteResponse(invocation.getArgument(0)));
+    }
+
+    private SiteRowDto getSiteRow(Long roleId, String roleName) {
+        return new SiteRowDto(SITE_ID, "Google", "8080",
+                USER_ID, "Site Owner", null, "owner@mail.com", null, null, null, null,
+                roleId, roleName);
+    }
+
     private User getUser() {
         return User.builder()
                 .id(USER_ID)
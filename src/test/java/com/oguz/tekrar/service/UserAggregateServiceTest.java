@@ -0,0 +1,89 @@
+package com.oguz.tekrar.service;
+
+import com.oguz.tekrar.dto.AgeCountDto;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.event.UserSnapshot;
+import com.oguz.tekrar.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAggregateServiceTest {
+
+    @InjectMocks
+    UserAggregateService aggregateService;
+    @Mock
+    UserRepository userRepository;
+
+    @Test
+    @DisplayName("RECONCILE - Mutabakattan sonra değerler veritabanıyla aynı olmalı")
+    void shouldLoadValuesOnReconcile() {
+        givenDatabase(3000.0, 2L, List.of(new AgeCountDto(25, 1L), new AgeCountDto(40, 2L)));
+        assertFalse(aggregateService.isReady());
+
+        aggregateService.reconcile();
+
+        assertTrue(aggregateService.isReady());
+        assertEquals(3000.0, aggregateService.getMaasSum());
+        assertEquals(3, aggregateService.countOlderThan(20));
+        assertEquals(2, aggregateService.countOlderThan(25));
+        assertEquals(0, aggregateService.countOlderThan(40));
+    }
+
+    @Test
+    @DisplayName("EVENT - Oluşturma, güncelleme ve silme aggregate'lere yansımalı")
+    void shouldApplyUserChanges() {
+        givenDatabase(null, 0L, List.of());
+        aggregateService.reconcile();
+        assertNull(aggregateService.getMaasSum());
+
+        aggregateService.onUserChanged(UserChangedEvent.created(snapshot(1L, 1000.0, 30)));
+        aggregateService.onUserChanged(UserChangedEvent.created(snapshot(2L, 2000.0, 20)));
+        assertEquals(3000.0, aggregateService.getMaasSum());
+        assertEquals(1, aggregateService.countOlderThan(25));
+
+        aggregateService.onUserChanged(UserChangedEvent.updated(snapshot(2L, 2000.0, 20), snapshot(2L, 2500.0, 35)));
+        assertEquals(3500.0, aggregateService.getMaasSum());
+        assertEquals(2, aggregateService.countOlderThan(25));
+
+        aggregateService.onUserChanged(UserChangedEvent.deleted(snapshot(1L, 1000.0, 30)));
+        assertEquals(2500.0, aggregateService.getMaasSum());
+        assertEquals(1, aggregateService.countOlderThan(0));
+
+        aggregateService.onUserChanged(UserChangedEvent.deleted(snapshot(2L, 2500.0, 35)));
+        assertNull(aggregateService.getMaasSum());
+        assertEquals(0, aggregateService.countOlderThan(0));
+    }
+
+    @Test
+    @DisplayName("RECONCILE - Sapma olduğunda veritabanı değerleri esas alınmalı")
+    void shouldCorrectDriftOnReconcile() {
+        givenDatabase(1000.0, 1L, List.of(new AgeCountDto(30, 1L)));
+        aggregateService.reconcile();
+        aggregateService.onUserChanged(UserChangedEvent.created(snapshot(9L, 500.0, 50)));
+
+        aggregateService.reconcile();
+
+        assertEquals(1000.0, aggregateService.getMaasSum());
+        assertEquals(1, aggregateService.countOlderThan(0));
+    }
+
+    private void givenDatabase(Double maasSum, Long maasCount, List<AgeCountDto> ageCounts) {
+        when(userRepository.getMaasSum()).thenReturn(maasSum);
+        when(userRepository.countMaas()).thenReturn(maasCount);
+        when(userRepository.countByAgeGroups()).thenReturn(ageCounts);
+    }
+
+    private UserSnapshot snapshot(Long id, Double maas, Integer age) {
+        return new UserSnapshot(id, "Oguz", null, maas, age);
+    }
+}
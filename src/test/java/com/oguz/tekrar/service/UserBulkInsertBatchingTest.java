@@ -0,0 +1,75 @@
+package com.oguz.tekrar.service;
+
+import com.oguz.tekrar.dto.UserRequest;
+import com.oguz.tekrar.sql.SqlStatementRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// UserServiceTest'teki chunk testi sadece mock'larla çalışır; burada gerçek H2 üzerinde
+// kullanıcı ve rol insert'lerinin hibernate.jdbc.batch_size kadarlık executeBatch'lerle gittiği doğrulanır
+@SpringBootTest
+@ActiveProfiles("test")
+class UserBulkInsertBatchingTest {
+
+    private static final int USER_COUNT = 120;
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    int batchSize;
+
+    @Test
+    @DisplayName("BULK BATCH - Kullanıcı ve roller satır başına değil batch_size'lık batch'lerle yazılmalı")
+    void shouldInsertUsersAndRolesInJdbcBatches() {
+        List<UserRequest> requests = IntStream.range(0, USER_COUNT).mapToObj(i -> userRequest()).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long insertsBefore = insertExecutions();
+
+        userService.createUsersBulk(requests);
+
+        // kullanıcılar ve roller için ayrı ayrı ceil(120 / 50) = 3 batch. PreparedStatement'ın executeBatch'i
+        // prepare edilen SQL'in tipiyle (insert) tek bir kez ölçülür, satır başına insert olsaydı 240 olurdu
+        int batchesPerTable = (USER_COUNT + batchSize - 1) / batchSize;
+        assertEquals(50, batchSize);
+        assertEquals(2L * USER_COUNT, statistics.getEntityInsertCount());
+        assertEquals(2L * batchesPerTable, insertExecutions() - insertsBefore);
+        // batch'li insert'ler + sequence çağrıları
+        assertTrue(statistics.getPrepareStatementCount() < 4L * batchesPerTable,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private long insertExecutions() {
+        return meterRegistry.find(SqlStatementRecorder.METRIC_NAME).tag("type", "insert").timers()
+                .stream().mapToLong(Timer::count).sum();
+    }
+
+    private static UserRequest userRequest() {
+        return UserRequest.builder()
+                .name("Bulk")
+                .email(UUID.randomUUID() + "@mail.com")
+                .age(30)
+                .maas(1000.0)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.oguz.tekrar.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.mapper.UserMapper;
+import com.oguz.tekrar.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @InjectMocks
+    UserExportService userExportService;
+    @Mock
+    UserRepository userRepository;
+    @Mock
+    UserMapper userMapper;
+    @Mock
+    EntityManager entityManager;
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("EXPORT - Her kullanıcı ayrı bir satırda JSON olarak yazılmalı")
+    void shouldWriteOneJsonLinePerUser() throws Exception {
+        User first = User.builder().id(1L).name("Oguz").build();
+        User second = User.builder().id(2L).name("Ali").build();
+        when(userRepository.streamAllUsers()).thenReturn(Stream.of(first, second));
+        when(userMapper.toUserResponse(first)).thenReturn(UserResponse.builder().id(1L).name("Oguz").build());
+        when(userMapper.toUserResponse(second)).thenReturn(UserResponse.builder().id(2L).name("Ali").build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.exportUsers(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"Oguz\"}", lines[0]);
+        assertEquals("{\"id\":2,\"name\":\"Ali\"}", lines[1]);
+    }
+
+    @Test
+    @DisplayName("EXPORT - Persistence context her chunk sonunda temizlenmeli")
+    void shouldClearPersistenceContextPerChunk() throws Exception {
+        Stream<User> users = IntStream.rangeClosed(1, 1200).mapToObj(i -> User.builder().id((long) i).build());
+        when(userRepository.streamAllUsers()).thenReturn(users);
+        when(userMapper.toUserResponse(any(User.class))).thenReturn(UserResponse.builder().id(1L).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.exportUsers(out);
+
+        verify(entityManager, times(2)).clear();
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+}
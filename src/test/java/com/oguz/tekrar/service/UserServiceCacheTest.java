@@ -0,0 +1,92 @@
+package com.oguz.tekrar.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.oguz.tekrar.constant.CacheNames;
+import com.oguz.tekrar.dto.UserRequest;
+import com.oguz.tekrar.dto.UserResponse;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceCacheTest {
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    CacheManager cacheManager;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheNames.USERS).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("CACHE - İkinci okuma veritabanına gitmeden cache'ten dönmeli")
+    void shouldServeRepeatedReadsFromCache() {
+        Long id = userService.createUser(userRequest("Oguz")).getId();
+        userService.getUserById(id);
+        statistics.clear();
+        long hitsBefore = stats().hitCount();
+
+        UserResponse cached = userService.getUserById(id);
+
+        assertEquals("Oguz", cached.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hitsBefore + 1, stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("CACHE - Güncelleme sonrası cache yeni değerle yenilenmeli")
+    void shouldRefreshCacheOnUpdate() {
+        Long id = userService.createUser(userRequest("Oguz")).getId();
+        userService.getUserById(id);
+
+        userService.updateUser(UserRequest.builder().name("Oguzhan").build(), id);
+        statistics.clear();
+
+        assertEquals("Oguzhan", userService.getUserById(id).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("CACHE - Silinen kullanıcı cache'ten de çıkarılmalı")
+    void shouldEvictCacheOnDelete() {
+        Long id = userService.createUser(userRequest("Oguz")).getId();
+        userService.getUserById(id);
+
+        userService.deleteUser(id);
+
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById(id));
+    }
+
+    private CacheStats stats() {
+        return ((CaffeineCache) cacheManager.getCache(CacheNames.USERS)).getNativeCache().stats();
+    }
+
+    private UserRequest userRequest(String name) {
+        return UserRequest.builder()
+                .name(name)
+                .email(UUID.randomUUID() + "@mail.com")
+                .build();
+    }
+}
@@ -1,25 +1,40 @@
 package com.oguz.tekrar.service;
 
+import com.oguz.tekrar.dto.BulkUserResponse;
+import com.oguz.tekrar.dto.CursorPageResponse;
+import com.oguz.tekrar.dto.SalaryRankPageResponse;
 import com.oguz.tekrar.dto.UserNameResponse;
 import com.oguz.tekrar.dto.UserRequest;
 import com.oguz.tekrar.dto.UserResponse;
+import com.oguz.tekrar.dto.UserSalaryDto;
 import com.oguz.tekrar.dto.UserSearchDto;
+import com.oguz.tekrar.dto.UserSuggestion;
 import com.oguz.tekrar.entity.Role;
 import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.event.UserChangedEvent;
+import com.oguz.tekrar.index.UserNameSuggestIndex;
+import com.oguz.tekrar.index.UserNameTrigramIndex;
+import com.oguz.tekrar.index.UserSalaryIndex;
 import com.oguz.tekrar.mapper.UserMapper;
 import com.oguz.tekrar.repository.RoleRepository;
 import com.oguz.tekrar.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,21 +52,57 @@ public class UserServiceTest {
     UserMapper userMapper;
     @Mock
     RoleRepository roleRepository;
+    @Mock
+    EntityManager entityManager;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Mock
+    UserNameSuggestIndex userNameSuggestIndex;
+    @Mock
+    UserAggregateService userAggregateService;
+    @Mock
+    UserSalaryIndex userSalaryIndex;
+    @Mock
+    UserNameTrigramIndex userNameTrigramIndex;
+    @Mock
+    Executor userQueryExecutor;
 
     private static final Long USER_ID = 1L;
     private static final Long ROLE_ID = 10L;
 
     @Test
-    @DisplayName("GET ALL - Tüm kullanıcıları getirmeli")
-    void shouldReturnAllUsers() {
-        List<User> userList = List.of(getUser());
+    @DisplayName("CURSOR - Limitten fazla kayıt varsa nextCursor son elemanın id'si olmalı")
+    void shouldReturnNextCursor_WhenMoreUsersExist() {
+        User first = getUser();
+        User second = getUser();
+        second.setId(2L);
         List<UserResponse> responseList = List.of(getUserResponse());
-        when(userRepository.findAll()).thenReturn(userList);
-        when(userMapper.toUserResponseList(userList)).thenReturn(responseList);
-        List<UserResponse> result = userService.getAllUsers();
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(userRepository).findAll();
+        when(userRepository.findUsersAfter(0L, Limit.of(2))).thenReturn(List.of(first, second));
+        when(userMapper.toUserResponseList(List.of(first))).thenReturn(responseList);
+        CursorPageResponse<UserResponse> result = userService.getUsersAfter(null, 1);
+        assertEquals(1, result.content().size());
+        assertEquals(USER_ID, result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("CURSOR - Son sayfada nextCursor null olmalı")
+    void shouldReturnNullCursor_WhenLastPage() {
+        List<User> userList = List.of(getUser());
+        when(userRepository.findUsersAfter(USER_ID, Limit.of(51))).thenReturn(userList);
+        when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
+        CursorPageResponse<UserResponse> result = userService.getUsersAfter(USER_ID, null);
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("CURSOR - Limit üst sınırı aşarsa sayfa en fazla 1000 kayıt olmalı, tablo tümden yüklenmemeli")
+    void shouldCapPageSize() {
+        when(userRepository.findUsersAfter(0L, Limit.of(1001))).thenReturn(List.of());
+        when(userMapper.toUserResponseList(List.of())).thenReturn(List.of());
+        CursorPageResponse<UserResponse> result = userService.getUsersAfter(null, 1_000_000);
+        assertTrue(result.content().isEmpty());
+        verify(userRepository, never()).findAll();
     }
 
     @Test
@@ -93,24 +144,48 @@ public class UserServiceTest {
         assertEquals(USER_ID, result.getId());
         assertEquals(1, userToSave.getRoles().size());
         assertEquals("ROLE_USER", userToSave.getRoles().get(0).getRoleName());
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertNull(event.getValue().before());
+        assertEquals("Oguz", event.getValue().after().name());
+    }
+
+    @Test
+    @DisplayName("BULK CREATE - Kullanıcılar chunk'lar halinde kaydedilip her chunk'ta flush/clear yapılmalı")
+    void shouldCreateUsersInChunks() {
+        ReflectionTestUtils.setField(userService, "bulkChunkSize", 2);
+        List<UserRequest> requests = List.of(getUserRequest(), getUserRequest(), getUserRequest());
+        when(userMapper.toUser(any(UserRequest.class))).thenAnswer(invocation -> getUser());
+        BulkUserResponse result = userService.createUsersBulk(requests);
+        assertEquals(3, result.createdCount());
+        verify(userRepository, times(2)).saveAll(any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(eventPublisher, times(3)).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
     @DisplayName("DELETE - Kullanıcı silme işlemi başarılı olmalı")
     void shouldDeleteUser_WhenIdExists() {
-        when(userRepository.existsById(USER_ID)).thenReturn(true);
+        User user = getUser();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
         userService.deleteUser(USER_ID);
-        verify(userRepository).deleteById(USER_ID);
+        verify(userRepository).delete(user);
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(USER_ID, event.getValue().userId());
+        assertNull(event.getValue().after());
     }
 
     @Test
     @DisplayName("DELETE - Silinecek kullanıcı yoksa EntityNotFoundException fırlatmalı")
     void shouldThrowException_WhenDeletingNonExistingUser() {
-        when(userRepository.existsById(USER_ID)).thenReturn(false);
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.empty());
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> userService.deleteUser(USER_ID));
         assertTrue(exception.getMessage().contains("Cannot delete"));
-        verify(userRepository, never()).deleteById(any());
+        verify(userRepository, never()).delete(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -127,6 +202,7 @@ public class UserServiceTest {
         assertNotNull(result);
         verify(userMapper).updateEntityFromRequest(request, existingUser);
         verify(userRepository).save(existingUser);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -152,17 +228,6 @@ public class UserServiceTest {
         verify(userRepository, never()).save(any());
     }
 
-    @Test
-    @DisplayName("CUSTOM ALL - Özel sorgu ile tüm kullanıcıları getirmeli")
-    void shouldReturnAllUsersCustom() {
-        List<User> userList = List.of(getUser());
-        when(userRepository.tumKullanicilariGetir()).thenReturn(userList);
-        when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
-        List<UserResponse> result = userService.getAllUsersCustom();
-        assertNotNull(result);
-        assertEquals(1, result.size());
-    }
-
     @Test
     @DisplayName("GET NAMES - Kullanıcı isim listesini dönmeli")
     void shouldReturnUserNames() {
@@ -178,7 +243,7 @@ public class UserServiceTest {
     void shouldSearchUsers() {
         String prefix = "Og";
         List<User> userList = List.of(getUser());
-        when(userRepository.searchByPrefix(prefix)).thenReturn(userList);
+        when(userRepository.searchByPrefix("og")).thenReturn(userList);
         when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
         List<UserResponse> result = userService.searchUsers(prefix);
         assertEquals(1, result.size());
@@ -190,12 +255,58 @@ public class UserServiceTest {
         String prefix = "Og";
         Integer age = 25;
         UserSearchDto dto = new UserSearchDto(USER_ID, "Oguz", 25);
-        when(userRepository.searchByNameAndAge(prefix, age)).thenReturn(List.of(dto));
+        when(userRepository.searchByNameAndAge("og", age)).thenReturn(List.of(dto));
         List<UserSearchDto> result = userService.searchUsersByNameAndAge(prefix, age);
         assertEquals(1, result.size());
         assertEquals("Oguz", result.get(0).name());
     }
 
+    @Test
+    @DisplayName("SUGGEST - Öneriler bellek içi index'ten, limit sınırlanarak dönmeli")
+    void shouldSuggestUsersFromIndex() {
+        List<UserSuggestion> suggestions = List.of(new UserSuggestion(USER_ID, "Oguz"));
+        when(userNameSuggestIndex.isReady()).thenReturn(true);
+        when(userNameSuggestIndex.suggest("Og", 100)).thenReturn(suggestions);
+        List<UserSuggestion> result = userService.suggestUsers("Og", 5000);
+        assertEquals(suggestions, result);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("SUGGEST - Index henüz yüklenmediyse öneriler veritabanından normalize prefix ile gelmeli")
+    void shouldSuggestUsersFromDatabase_WhenIndexNotReady() {
+        List<UserSuggestion> suggestions = List.of(new UserSuggestion(USER_ID, "Oguz"));
+        when(userNameSuggestIndex.isReady()).thenReturn(false);
+        when(userRepository.findSuggestions("og", Limit.of(10))).thenReturn(suggestions);
+        List<UserSuggestion> result = userService.suggestUsers("OG", null);
+        assertEquals(suggestions, result);
+        verify(userNameSuggestIndex, never()).suggest(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("SEARCH CONTAINS - Index hazırsa sadece trigram'lardan bulunan id'ler yüklenmeli")
+    void shouldSearchContainingFromIndex_WhenReady() {
+        User first = getUser();
+        User second = getUser();
+        second.setId(2L);
+        when(userNameTrigramIndex.isReady()).thenReturn(true);
+        when(userNameTrigramIndex.findIdsContaining("gu", 1000)).thenReturn(new long[]{2L, 1L});
+        when(userRepository.findAllWithRolesByIdIn(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        when(userMapper.toUserResponseList(List.of(second, first))).thenReturn(List.of(getUserResponse(), getUserResponse()));
+        List<UserResponse> result = userService.searchUsersContaining("gu", 5000);
+        assertEquals(2, result.size());
+        verify(userRepository, never()).searchByContains(any(), any());
+    }
+
+    @Test
+    @DisplayName("SEARCH CONTAINS - Index hazır değilse LIKE sorgusuna normalize edilmiş parça ile gidilmeli")
+    void shouldSearchContainingFromDatabase_WhenIndexNotReady() {
+        List<User> userList = List.of(getUser());
+        when(userRepository.searchByContains("gu", Limit.of(50))).thenReturn(userList);
+        when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
+        assertEquals(1, userService.searchUsersContaining("GU", null).size());
+    }
+
     @Test
     @DisplayName("SORT DESC - Maaşa göre azalan sıralı kullanıcıları dönmeli")
     void shouldGetUsersBySalaryDesc() {
@@ -209,12 +320,55 @@ public class UserServiceTest {
     @Test
     @DisplayName("FIND BY NAMES - İsim listesine göre kullanıcıları dönmeli")
     void shouldFindUsersByNames() {
+        ReflectionTestUtils.setField(userService, "inChunkSize", 512);
         List<String> names = Arrays.asList("Oguz", "Ali");
         List<User> userList = List.of(getUser());
         when(userRepository.findUsers(names)).thenReturn(userList);
         when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
         List<UserResponse> result = userService.findUsersByNames(names);
         assertEquals(1, result.size());
+        verifyNoInteractions(userQueryExecutor);
+    }
+
+    @Test
+    @DisplayName("FIND BY NAMES - Liste tekilleştirilip parçalara bölünmeli ve sonuçlar birleştirilmeli")
+    void shouldFindUsersByNamesInChunks() {
+        ReflectionTestUtils.setField(userService, "inChunkSize", 2);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(userQueryExecutor).execute(any());
+        User first = getUser();
+        User second = getUser();
+        second.setId(2L);
+        when(userRepository.findUsers(List.of("Oguz", "Ali"))).thenReturn(List.of(first));
+        when(userRepository.findUsers(List.of("Veli"))).thenReturn(List.of(second));
+        when(userMapper.toUserResponseList(List.of(first, second))).thenReturn(List.of(getUserResponse(), getUserResponse()));
+
+        List<UserResponse> result = userService.findUsersByNames(Arrays.asList("Oguz", "Ali", "Oguz", null, "Veli"));
+
+        assertEquals(2, result.size());
+        verify(userQueryExecutor, times(2)).execute(any());
+    }
+
+    @Test
+    @DisplayName("FIND BY NAMES - Parçalardan biri hata verirse asıl exception fırlatılmalı")
+    void shouldRethrowChunkFailure_WhenFindingUsersByNames() {
+        ReflectionTestUtils.setField(userService, "inChunkSize", 1);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(userQueryExecutor).execute(any());
+        when(userRepository.findUsers(any())).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class, () -> userService.findUsersByNames(List.of("Oguz", "Ali")));
+    }
+
+    @Test
+    @DisplayName("FIND BY NAMES - Boş listede veritabanına gidilmemeli")
+    void shouldReturnEmptyList_WhenNamesEmpty() {
+        assertTrue(userService.findUsersByNames(List.of()).isEmpty());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -227,6 +381,15 @@ public class UserServiceTest {
         assertEquals(expectedCount, result);
     }
 
+    @Test
+    @DisplayName("COUNT - Aggregate hazırsa veritabanına gitmeden bellekten dönmeli")
+    void shouldFindCountByAgeFromAggregate_WhenReady() {
+        when(userAggregateService.isReady()).thenReturn(true);
+        when(userAggregateService.countOlderThan(20)).thenReturn(7L);
+        assertEquals(7L, userService.findCountByAge(20));
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     @DisplayName("MAAS RANGE - Maaş aralığına göre kullanıcıları dönmeli")
     void shouldFindMaasAraligi() {
@@ -239,6 +402,106 @@ public class UserServiceTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    @DisplayName("TOP SALARY - Index hazırsa id'ler bellekten alınmalı ve sonraki (maas, id) dönmeli")
+    void shouldGetTopUsersBySalaryFromIndex_WhenReady() {
+        User first = getUser();
+        first.setMaas(9000.0);
+        when(userSalaryIndex.isReady()).thenReturn(true);
+        when(userSalaryIndex.findTop(null, null, 2))
+                .thenReturn(List.of(new UserSalaryDto(USER_ID, 9000.0), new UserSalaryDto(2L, 8000.0)));
+        when(userRepository.findAllWithRolesByIdIn(List.of(USER_ID))).thenReturn(List.of(first));
+        when(userMapper.toUserResponseList(List.of(first))).thenReturn(List.of(getUserResponse()));
+        SalaryRankPageResponse result = userService.getTopUsersBySalary(null, null, 1);
+        assertEquals(1, result.content().size());
+        assertEquals(9000.0, result.nextMaas());
+        assertEquals(USER_ID, result.nextId());
+        verify(userRepository, never()).findTopBySalary(any());
+    }
+
+    @Test
+    @DisplayName("TOP SALARY - Index'teki id veritabanında silinmişse sonraki sayfa ve cursor index'ten gelmeli")
+    void shouldKeepNextPageFromIndex_WhenUserDeletedInDatabase() {
+        User second = getUser();
+        second.setId(2L);
+        when(userSalaryIndex.isReady()).thenReturn(true);
+        when(userSalaryIndex.findTop(null, null, 3)).thenReturn(List.of(
+                new UserSalaryDto(USER_ID, 9000.0), new UserSalaryDto(2L, 8000.0), new UserSalaryDto(3L, 7000.0)));
+        when(userRepository.findAllWithRolesByIdIn(List.of(USER_ID, 2L))).thenReturn(List.of(second));
+        when(userMapper.toUserResponseList(List.of(second))).thenReturn(List.of(getUserResponse()));
+        SalaryRankPageResponse result = userService.getTopUsersBySalary(null, null, 2);
+        assertEquals(1, result.content().size());
+        assertEquals(8000.0, result.nextMaas());
+        assertEquals(2L, result.nextId());
+    }
+
+    @Test
+    @DisplayName("TOP SALARY - Index'te limitten fazla kayıt yoksa son sayfa olmalı")
+    void shouldReturnLastPageFromIndex_WhenNoMoreIds() {
+        when(userSalaryIndex.isReady()).thenReturn(true);
+        when(userSalaryIndex.findTop(9000.0, USER_ID, 3)).thenReturn(List.of(new UserSalaryDto(2L, 8000.0)));
+        when(userRepository.findAllWithRolesByIdIn(List.of(2L))).thenReturn(List.of());
+        when(userMapper.toUserResponseList(List.of())).thenReturn(List.of());
+        SalaryRankPageResponse result = userService.getTopUsersBySalary(9000.0, USER_ID, 2);
+        assertTrue(result.content().isEmpty());
+        assertNull(result.nextMaas());
+        assertNull(result.nextId());
+    }
+
+    @Test
+    @DisplayName("TOP SALARY - Index hazır değilse ilk sayfa veritabanından limitli gelmeli")
+    void shouldGetTopUsersBySalaryFromDatabase_WhenIndexNotReady() {
+        List<User> userList = List.of(getUser());
+        when(userRepository.findTopBySalary(Limit.of(51))).thenReturn(userList);
+        when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
+        SalaryRankPageResponse result = userService.getTopUsersBySalary(null, null, null);
+        assertEquals(1, result.content().size());
+        assertNull(result.nextMaas());
+        assertNull(result.nextId());
+    }
+
+    @Test
+    @DisplayName("TOP SALARY - Index hazır değilse sonraki sayfa seek sorgusuyla gelmeli")
+    void shouldSeekTopUsersBySalaryFromDatabase_WhenIndexNotReady() {
+        List<User> userList = List.of(getUser());
+        when(userRepository.findTopBySalaryAfter(5000.0, 7L, Limit.of(11))).thenReturn(userList);
+        when(userMapper.toUserResponseList(userList)).thenReturn(List.of(getUserResponse()));
+        SalaryRankPageResponse result = userService.getTopUsersBySalary(5000.0, 7L, 10);
+        assertEquals(1, result.content().size());
+        verify(userRepository, never()).findTopBySalary(any());
+    }
+
+    @Test
+    @DisplayName("MAAS RANGE - Index hazırsa sadece eşleşen id'ler yüklenmeli ve index sırası korunmalı")
+    void shouldFindMaasAraligiFromIndex_WhenReady() {
+        User first = getUser();
+        User second = getUser();
+        second.setId(2L);
+        when(userSalaryIndex.isReady()).thenReturn(true);
+        when(userSalaryIndex.findIdsBetween(1000.0, 5000.0)).thenReturn(new long[]{2L, 1L});
+        when(userRepository.findAllWithRolesByIdIn(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        when(userMapper.toUserResponseList(List.of(second, first))).thenReturn(List.of(getUserResponse(), getUserResponse()));
+        List<UserResponse> result = userService.findMaasAraligi(1000.0, 5000.0);
+        assertEquals(2, result.size());
+        verify(userRepository, never()).findMaasAraligi(any(), any());
+    }
+
+    @Test
+    @DisplayName("MAAS RANGE COUNT - Index hazırsa sayım bellekten dönmeli")
+    void shouldCountMaasAraligiFromIndex_WhenReady() {
+        when(userSalaryIndex.isReady()).thenReturn(true);
+        when(userSalaryIndex.countBetween(1000.0, 5000.0)).thenReturn(3L);
+        assertEquals(3L, userService.countMaasAraligi(1000.0, 5000.0));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("MAAS RANGE COUNT - Index hazır değilse veritabanından sayılmalı")
+    void shouldCountMaasAraligiFromDatabase_WhenIndexNotReady() {
+        when(userRepository.countMaasAraligi(1000.0, 5000.0)).thenReturn(4L);
+        assertEquals(4L, userService.countMaasAraligi(1000.0, 5000.0));
+    }
+
     @Test
     @DisplayName("NULL NAME - İsmi null olan kullanıcıları dönmeli")
     void shouldFindAdiIsNull() {
@@ -260,6 +523,15 @@ public class UserServiceTest {
         assertEquals(totalSalary, result);
     }
 
+    @Test
+    @DisplayName("SUM - Aggregate hazırsa maaş toplamı bellekten dönmeli")
+    void shouldGetMaasSumFromAggregate_WhenReady() {
+        when(userAggregateService.isReady()).thenReturn(true);
+        when(userAggregateService.getMaasSum()).thenReturn(1500.0);
+        assertEquals(1500.0, userService.getMaasSum());
+        verifyNoInteractions(userRepository);
+    }
+
     private User getUser() {
         return User.builder()
                 .id(USER_ID)
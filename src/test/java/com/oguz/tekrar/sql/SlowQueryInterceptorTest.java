@@ -0,0 +1,105 @@
+package com.oguz.tekrar.sql;
+
+import com.oguz.tekrar.entity.User;
+import com.oguz.tekrar.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryInterceptorTest {
+
+    UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    @DisplayName("SLOW QUERY - Eşiği aşan çağrı metod adı, parametre şekli ve satır sayısıyla kaydedilmeli")
+    void shouldRecordSlowCallWithShapeAndRows() {
+        SlowQueryLog slowQueryLog = slowQueryLog(Duration.ZERO, 10);
+        when(userRepository.findMaasAraligi(1000.0, 5000.0)).thenReturn(List.of(new User(), new User()));
+
+        proxy(slowQueryLog).findMaasAraligi(1000.0, 5000.0);
+
+        SlowQuery slowQuery = slowQueryLog.top().getFirst();
+        assertEquals("UserRepository.findMaasAraligi", slowQuery.repositoryMethod());
+        assertEquals("(Double, Double)", slowQuery.parameters());
+        assertEquals(2, slowQuery.rows());
+        assertNull(slowQuery.error());
+    }
+
+    @Test
+    @DisplayName("SLOW QUERY - Eşiğin altındaki çağrılar kaydedilmemeli")
+    void shouldIgnoreFastCalls() {
+        SlowQueryLog slowQueryLog = slowQueryLog(Duration.ofMinutes(1), 10);
+        when(userRepository.findAll()).thenReturn(List.of());
+
+        proxy(slowQueryLog).findAll();
+
+        assertTrue(slowQueryLog.top().isEmpty());
+    }
+
+    @Test
+    @DisplayName("SLOW QUERY - Hata fırlatan yavaş çağrı exception tipiyle kaydedilmeli ve hata yutulmamalı")
+    void shouldRecordFailedSlowCall() {
+        SlowQueryLog slowQueryLog = slowQueryLog(Duration.ZERO, 10);
+        when(userRepository.countMaasAraligi(1.0, 2.0)).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThrows(QueryTimeoutException.class, () -> proxy(slowQueryLog).countMaasAraligi(1.0, 2.0));
+
+        SlowQuery slowQuery = slowQueryLog.top().getFirst();
+        assertEquals("QueryTimeoutException", slowQuery.error());
+        assertNull(slowQuery.rows());
+    }
+
+    @Test
+    @DisplayName("TOP N - Sadece en yavaş çağrılar yavaştan hızlıya tutulmalı")
+    void shouldKeepOnlySlowestCalls() {
+        SlowQueryLog slowQueryLog = slowQueryLog(Duration.ZERO, 2);
+
+        for (long millis : new long[]{30, 10, 50, 20}) {
+            slowQueryLog.record(new SlowQuery("UserRepository.findAll", millis, "()", 0, null, null));
+        }
+
+        assertEquals(List.of(50L, 30L), slowQueryLog.top().stream().map(SlowQuery::durationMillis).toList());
+    }
+
+    @Test
+    @DisplayName("SHAPE - Parametre değerleri değil tip ve boyutları yazılmalı")
+    void shouldDescribeParameterShapeWithoutValues() {
+        String shape = SlowQueryInterceptor.parameterShape(new Object[]{"gizli", List.of("a", "b"), new Long[3], Limit.of(20), null});
+
+        assertEquals("(String[5], List[2], Long[3], Limit[20], null)", shape);
+        assertFalse(shape.contains("gizli"));
+    }
+
+    @Test
+    @DisplayName("ROWS - Dönüş tipine göre satır sayısı çıkarılmalı")
+    void shouldCountRows() {
+        assertEquals(1, SlowQueryInterceptor.rows(Optional.of(new User())));
+        assertEquals(0, SlowQueryInterceptor.rows(Optional.empty()));
+        assertEquals(1, SlowQueryInterceptor.rows(42L));
+        assertEquals(0, SlowQueryInterceptor.rows(null));
+        assertNull(SlowQueryInterceptor.rows(Stream.empty()));
+    }
+
+    private UserRepository proxy(SlowQueryLog slowQueryLog) {
+        ProxyFactory factory = new ProxyFactory(userRepository);
+        factory.addInterface(UserRepository.class);
+        factory.addAdvice(new SlowQueryInterceptor(UserRepository.class, slowQueryLog));
+        return (UserRepository) factory.getProxy();
+    }
+
+    private static SlowQueryLog slowQueryLog(Duration threshold, int topSize) {
+        return new SlowQueryLog(new SimpleMeterRegistry(), threshold, topSize);
+    }
+}
@@ -0,0 +1,128 @@
+package com.oguz.tekrar.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oguz.tekrar.constant.UserApiPath;
+import com.oguz.tekrar.dto.UserRequest;
+import com.oguz.tekrar.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sql.n-plus-one.threshold=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlMetricsIntegrationTest {
+
+    private static final String CREATE_URI = UserApiPath.BASE_URL + UserApiPath.CREATE;
+    private static final String USER_NAMES_URI = UserApiPath.BASE_URL + UserApiPath.GET_USER_NAMES;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("SQL METRICS - Statement'lar çağıran repository metoduna göre etiketlenmeli")
+    void shouldTagStatementsWithRepositoryMethod() {
+        long before = selectCount("UserRepository.findAll");
+
+        userRepository.findAll();
+
+        assertTrue(selectCount("UserRepository.findAll") > before);
+    }
+
+    @Test
+    @DisplayName("SQL METRICS - Repository dışından atılan SQL'ler none olarak etiketlenmeli")
+    void shouldTagStatementsOutsideRepositoriesAsNone() {
+        long before = selectCount(SqlStatementContext.NO_REPOSITORY);
+
+        jdbcTemplate.queryForObject("select count(*) from users", Long.class);
+
+        assertEquals(before + 1, selectCount(SqlStatementContext.NO_REPOSITORY));
+    }
+
+    @Test
+    @DisplayName("N+1 ALARM - Eşiği aşan istek alarm sayacını artırmalı, aşmayan artırmamalı")
+    void shouldRaiseAlarmOnlyAboveThreshold() throws Exception {
+        double createAlarms = alarms(CREATE_URI);
+        double namesAlarms = alarms(USER_NAMES_URI);
+
+        // sequence + user insert + role insert
+        mockMvc.perform(post(CREATE_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userRequest())))
+                .andExpect(status().isCreated());
+        // ilk çağrı query cache'i doldurur, ikincisi hiç SQL atmaz
+        mockMvc.perform(get(USER_NAMES_URI)).andExpect(status().isOk());
+        mockMvc.perform(get(USER_NAMES_URI)).andExpect(status().isOk());
+
+        assertEquals(createAlarms + 1, alarms(CREATE_URI));
+        assertEquals(namesAlarms, alarms(USER_NAMES_URI));
+
+        DistributionSummary statements = meterRegistry.find(SqlRequestStatsFilter.STATEMENTS_METRIC).tag("uri", USER_NAMES_URI).summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() >= 2);
+    }
+
+    @Test
+    @DisplayName("METRICS - Hibernate ve connection pool metrikleri yayınlanmalı")
+    void shouldExposeHibernateAndPoolMetrics() {
+        userRepository.findAll();
+
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").timer());
+    }
+
+    @Test
+    @DisplayName("STATEMENT TYPE - SQL tipi ilk kelimeden çıkarılmalı")
+    void shouldDetectStatementType() {
+        assertEquals("select", SqlStatementRecorder.statementType("  select u.id from users u"));
+        assertEquals("select", SqlStatementRecorder.statementType("WITH t AS (select 1) select * from t"));
+        assertEquals("insert", SqlStatementRecorder.statementType("insert into users values (?)"));
+        assertEquals("other", SqlStatementRecorder.statementType("call next value for users_seq"));
+        assertEquals("batch", SqlStatementRecorder.statementType(null));
+    }
+
+    private long selectCount(String repositoryMethod) {
+        return meterRegistry.find(SqlStatementRecorder.METRIC_NAME).tag("repository", repositoryMethod).timers()
+                .stream().mapToLong(Timer::count).sum();
+    }
+
+    private double alarms(String uri) {
+        Counter counter = meterRegistry.find(SqlRequestStatsFilter.ALARM_METRIC).tag("uri", uri).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static UserRequest userRequest() {
+        return UserRequest.builder()
+                .name("Oguz")
+                .email(UUID.randomUUID() + "@mail.com")
+                .age(30)
+                .maas(1000.0)
+                .build();
+    }
+}